@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -21,12 +22,21 @@ dependencyManagement {
     }
 }
 
+// load test harness (src/loadtest), run against a server started with bootRun
+sourceSets {
+    create("loadtest")
+}
+
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.micrometer.registry.prometheus)
+    implementation(libs.redisson)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    "loadtestImplementation"(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -45,8 +55,37 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+
+// benchmark tasks
+// ./gradlew jmh -PjmhThreads=8 -PjmhIncludes=PointServiceBenchmark
+jmh {
+    warmupIterations.set(2)
+    iterations.set(3)
+    fork.set(1)
+    jvmArgs.set(listOf("-Xmx4g"))
+    resultFormat.set("JSON")
+    (findProperty("jmhThreads") as String?)?.let { threads.set(it.toInt()) }
+    (findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+    (findProperty("jmhProfilers") as String?)?.let { profilers.set(it.split(",")) }
+}
+
+// load test tasks
+// ./gradlew loadTest -PloadTest.rate=500 -PloadTest.duration=120 -PloadTest.mix=read=70,charge=20,use=10
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives PointController over HTTP at a constant arrival rate and checks latency SLOs."
+    classpath = sourceSets["loadtest"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadtest.LoadTestRunner")
+    systemProperties(project.properties.filterKeys { it.startsWith("loadTest.") })
+}
+
 // test tasks
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
 }
+
+// benchmark and load test sources are not part of the main build; compile them in check so they do not go stale
+tasks.named("check") {
+    dependsOn("jmhClasses", "loadtestClasses")
+}
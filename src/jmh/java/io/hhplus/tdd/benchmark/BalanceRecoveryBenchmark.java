@@ -0,0 +1,76 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.durable.DurableUserPointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * DurableUserPointRepository 시작(복구) 시간
+ * - 준비 단계에서 users 명의 포인트를 기록하고 스냅샷을 남긴 뒤, 매 측정마다 저장소를 새로 열어 복구 시간을 잰다.
+ * - 목표: 10M 유저 기준 1초 이내
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BalanceRecoveryBenchmark {
+
+    private static final int SHARDS = 64;
+
+    @Param({"1000000", "10000000"})
+    int users;
+
+    private Path directory;
+    private DurableUserPointRepository recovered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("balance-recovery");
+        DurableUserPointRepository repository = open();
+        for (long userId = 1; userId <= users; userId++) {
+            repository.insertOrUpdate(userId, userId % 10_000);
+        }
+        repository.close();
+    }
+
+    @Benchmark
+    public DurableUserPointRepository recover() {
+        recovered = open();
+        return recovered;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRecovered() throws InterruptedException {
+        if (recovered != null) {
+            recovered.close();
+            recovered = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private DurableUserPointRepository open() {
+        return new DurableUserPointRepository(directory.toString(), SHARDS, 3_600L, false);
+    }
+}
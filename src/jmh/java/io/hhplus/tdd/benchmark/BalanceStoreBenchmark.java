@@ -0,0 +1,64 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ConcurrentUserPointRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.database.primitive.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 저장소 메모리 사용량 / 조회·갱신 비용 비교 (ConcurrentUserPointRepository vs PrimitiveUserPointRepository)
+ * - 준비 단계에서 users 명을 채운 뒤 GC 후 늘어난 힙 사용량을 유저당 바이트로 출력한다.
+ * - 할당량은 ./gradlew jmh -PjmhProfilers=gc 로 함께 확인한다. (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BalanceStoreBenchmark {
+
+    @Param({"concurrent", "primitive"})
+    String store;
+
+    @Param({"10000000"})
+    int users;
+
+    private UserPointRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = HeapUsage.usedAfterGc();
+        repository = switch (store) {
+            case "concurrent" -> new ConcurrentUserPointRepository(LatencyProfile.zero(), new SimpleMeterRegistry());
+            case "primitive" -> new PrimitiveUserPointRepository(64, users);
+            default -> throw new IllegalArgumentException("지원하지 않는 저장소입니다: " + store);
+        };
+        for (long userId = 1; userId <= users; userId++) {
+            repository.insertOrUpdate(userId, userId % 10_000);
+        }
+        HeapUsage.report(store, before, users, "user");
+    }
+
+    @Benchmark
+    public UserPoint insertOrUpdate() {
+        long userId = ThreadLocalRandom.current().nextInt(users) + 1L;
+        return repository.insertOrUpdate(userId, userId);
+    }
+
+    @Benchmark
+    public UserPoint selectById() {
+        return repository.selectById(ThreadLocalRandom.current().nextInt(users) + 1L);
+    }
+}
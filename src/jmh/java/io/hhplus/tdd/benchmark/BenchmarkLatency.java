@@ -0,0 +1,22 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.latency.LatencyProfile;
+
+/**
+ * 벤치마크용 테이블 지연 시간 모델 (seed 를 고정해 실행마다 같은 지연 시간 순서를 재현한다)
+ */
+final class BenchmarkLatency {
+
+    private static final long SEED = 42L;
+
+    static LatencyProfile profile(String name) {
+        return switch (name) {
+            case "zero" -> LatencyProfile.zero();
+            case "uniform" -> LatencyProfile.uniform(SEED, 1.0);
+            case "log-normal" -> LatencyProfile.logNormal(SEED, 1.0, 1.0);
+            default -> throw new IllegalArgumentException("지원하지 않는 지연 시간 모델입니다: " + name);
+        };
+    }
+
+    private BenchmarkLatency() {}
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.benchmark;
+
+/**
+ * 벤치마크 준비 단계에서 자료구조가 붙잡고 있는 힙 크기를 어림하기 위한 도우미
+ */
+final class HeapUsage {
+
+    static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    static void report(String label, long before, long count, String unit) {
+        long retained = usedAfterGc() - before;
+        System.out.printf("%n[%s] retained heap: %,d bytes (%.1f bytes/%s)%n", label, retained, (double) retained / count, unit);
+    }
+
+    private HeapUsage() {}
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.columnar.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 내역 수에 따른 유저별 내역 조회 지연 시간
+ * - 유저당 내역 수(rowsPerUser)는 고정하고 전체 내역 수(totalRows)만 늘린다.
+ * - 유저별 인덱스에서 조회하므로 totalRows 가 10M 까지 늘어도 지연 시간이 거의 일정해야 한다.
+ * - store 별로 준비 단계에서 내역이 차지하는 힙 크기를 행당 바이트로 출력한다. (indexed 는 위임한 ConcurrentPointHistoryRepository 의 큐까지 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HistoryLookupBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    int totalRows;
+
+    @Param({"100"})
+    int rowsPerUser;
+
+    @Param({"indexed", "columnar"})
+    String store;
+
+    private PointHistoryRepository pointHistoryRepository;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = HeapUsage.usedAfterGc();
+        pointHistoryRepository = switch (store) {
+            case "indexed" -> new IndexedPointHistoryRepository(LatencyProfile.zero(), new SimpleMeterRegistry());
+            case "columnar" -> new ColumnarPointHistoryRepository(new SimpleMeterRegistry());
+            default -> throw new IllegalArgumentException("지원하지 않는 저장소입니다: " + store);
+        };
+        users = totalRows / rowsPerUser;
+        for (int row = 0; row < totalRows; row++) {
+            pointHistoryRepository.insert(row % users + 1L, 1_000L, TransactionType.CHARGE, row);
+        }
+        HeapUsage.report(store, before, totalRows, "row");
+    }
+
+    @Benchmark
+    public List<PointHistory> selectAllByUserId() {
+        return pointHistoryRepository.selectAllByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public PointHistoryPage selectPage() {
+        return pointHistoryRepository.selectPage(randomUserId(), new PointHistoryQuery(null, null, null, null, 20));
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextInt(users) + 1L;
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.CachedUserPointRepository;
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.PointAdmissionController;
+import io.hhplus.tdd.point.concurrency.ActorPointUpdater;
+import io.hhplus.tdd.point.concurrency.LockingPointUpdater;
+import io.hhplus.tdd.point.concurrency.OptimisticPointUpdater;
+import io.hhplus.tdd.point.concurrency.PointUpdater;
+import io.hhplus.tdd.point.history.DirectPointHistoryWriter;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 동시성 전략별 처리량/지연 시간 비교
+ * - Throughput 으로 초당 처리량을, SampleTime 으로 p50/p90/p99 등 지연 시간 분포를 측정한다.
+ * - 스레드 수는 ./gradlew jmh -PjmhThreads=N 으로, 나머지 조건은 @Param 으로 조절한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointServiceBenchmark {
+
+    @Param({"lock", "optimistic", "actor"})
+    String mode;
+
+    @Param({"uniform", "zipf"})
+    String skew;
+
+    @Param({"1000"})
+    int users;
+
+    @Param({"zero", "uniform", "log-normal"})
+    String tableLatency;
+
+    private PointService pointService;
+    private PointUpdater pointUpdater;
+    private UserIdSampler userIdSampler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LatencyProfile latencyProfile = BenchmarkLatency.profile(tableLatency);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachedUserPointRepository userPointRepository = new CachedUserPointRepository(latencyProfile, meterRegistry, users);
+        IndexedPointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(latencyProfile, meterRegistry);
+        DirectPointHistoryWriter pointHistoryWriter = new DirectPointHistoryWriter(pointHistoryRepository);
+
+        pointUpdater = switch (mode) {
+            case "lock" -> new LockingPointUpdater(userPointRepository, pointHistoryWriter, new UserLockManager(meterRegistry), 100);
+            case "optimistic" -> new OptimisticPointUpdater(userPointRepository, pointHistoryWriter, meterRegistry, 100_000);
+            case "actor" -> new ActorPointUpdater(userPointRepository, pointHistoryWriter, 64, 100);
+            default -> throw new IllegalArgumentException("지원하지 않는 모드입니다: " + mode);
+        };
+        pointService = new PointService(userPointRepository, pointHistoryRepository, pointUpdater, new PointMetrics(meterRegistry),
+                new PointAdmissionController(meterRegistry, false, 0, 0, 0, 1, 1, 1));
+        userIdSampler = UserIdSampler.of(skew, users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (pointUpdater instanceof ActorPointUpdater actorPointUpdater) {
+            actorPointUpdater.shutdown();
+        }
+    }
+
+    /**
+     * 충전 후 같은 금액을 사용한다.
+     * - 각 스레드가 자신이 충전한 만큼만 사용하므로 잔액이 부족하거나 최대 한도를 넘는 일 없이 반복할 수 있다.
+     */
+    @Benchmark
+    public UserPoint chargeThenUse() {
+        long userId = userIdSampler.next();
+        pointService.chargePoint(userId, 10L);
+        return pointService.usePoint(userId, 10L);
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint(userIdSampler.next());
+    }
+}
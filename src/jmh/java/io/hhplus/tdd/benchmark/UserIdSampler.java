@@ -0,0 +1,52 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크에서 요청할 유저 ID 를 뽑는다.
+ * - uniform : 1 ~ users 를 고르게 뽑는다.
+ * - zipf : 순위가 높은 소수 유저(핫 유저)에게 요청이 몰리도록 Zipf 분포(지수 1.0)로 뽑는다.
+ */
+final class UserIdSampler {
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    private final int users;
+    private final double[] cumulative;
+
+    private UserIdSampler(int users, double[] cumulative) {
+        this.users = users;
+        this.cumulative = cumulative;
+    }
+
+    static UserIdSampler of(String skew, int users) {
+        return switch (skew) {
+            case "uniform" -> new UserIdSampler(users, null);
+            case "zipf" -> new UserIdSampler(users, zipfCumulative(users));
+            default -> throw new IllegalArgumentException("지원하지 않는 분포입니다: " + skew);
+        };
+    }
+
+    long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cumulative == null) {
+            return random.nextInt(users) + 1L;
+        }
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (position >= 0 ? position : -position - 1) + 1L;
+    }
+
+    private static double[] zipfCumulative(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
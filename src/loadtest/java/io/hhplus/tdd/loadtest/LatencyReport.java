@@ -0,0 +1,118 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.loadtest.TrafficMix.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연 시간(HdrHistogram, 마이크로초)과 결과 집계
+ * - 지연 시간은 "실제로 보낸 시각"이 아니라 "보냈어야 할 시각"부터 잰다. (coordinated omission 보정)
+ * - 4xx 는 잔액 부족 등 정상적인 비즈니스 거절로 보고 에러율에 포함하지 않는다.
+ * - 단, 429(처리 한도 초과로 거절)와 503(처리 불가)은 서버가 요청을 감당하지 못한 것이므로 따로 세고 에러율에 포함한다.
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Histogram total = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int statusCode) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(micros);
+        total.recordValue(micros);
+        if (statusCode >= 200 && statusCode < 300) {
+            succeeded.increment();
+        } else if (statusCode == 429) {
+            throttled.increment();
+        } else if (statusCode == 503) {
+            unavailable.increment();
+        } else if (statusCode >= 400 && statusCode < 500) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long latencyNanos) {
+        record(operation, latencyNanos, -1);
+    }
+
+    /**
+     * 동시 요청 수 상한을 넘어 보내지 못한 요청 (에러로 집계)
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    double p99Millis() {
+        return total.getValueAtPercentile(99) / 1_000.0;
+    }
+
+    double errorRate() {
+        long errors = throttled.sum() + unavailable.sum() + failed.sum() + dropped.sum();
+        long requests = succeeded.sum() + rejected.sum() + errors;
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    void print(PrintStream out) {
+        out.printf("requests: success=%d, rejected(4xx)=%d, throttled(429)=%d, unavailable(503)=%d, failed=%d, dropped=%d, error rate=%.4f%n",
+                succeeded.sum(), rejected.sum(), throttled.sum(), unavailable.sum(), failed.sum(), dropped.sum(), errorRate());
+        out.printf("%-8s %10s", "op", "count");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %10s", "p" + percentile);
+        }
+        out.printf(" %10s%n", "max");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            printRow(out, entry.getKey().name(), entry.getValue());
+        }
+        printRow(out, "TOTAL", total);
+    }
+
+    /**
+     * HdrHistogram 백분위 분포(.hgrm)를 요청 종류별로 저장한다. (단위: ms)
+     */
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            writeHistogram(directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), entry.getValue());
+        }
+        writeHistogram(directory.resolve("total.hgrm"), total);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-8s %10d", name, histogram.getTotalCount());
+        for (double percentile : PERCENTILES) {
+            out.printf(" %8.1fms", histogram.getValueAtPercentile(percentile) / 1_000.0);
+        }
+        out.printf(" %8.1fms%n", histogram.getMaxValue() / 1_000.0);
+    }
+
+    private void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 loadTest.* 로 지정, ./gradlew loadTest -PloadTest.rate=500 ...)
+ * - rate : 초당 요청 수 (도착 간격이 고정된 open-loop 방식이라 서버가 느려져도 요청 속도가 줄지 않는다)
+ * - warmup 동안 보낸 요청은 지연 시간 통계에서 제외한다.
+ */
+record LoadTestOptions(
+        URI baseUrl,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        int users,
+        String skew,
+        TrafficMix mix,
+        long amount,
+        int maxInFlight,
+        double sloP99Millis,
+        double sloMaxErrorRate,
+        Path reportDirectory
+) {
+
+    static LoadTestOptions fromSystemProperties() {
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(property("baseUrl", "http://localhost:8080")),
+                Integer.parseInt(property("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(property("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "10"))),
+                Integer.parseInt(property("users", "1000")),
+                property("skew", "uniform"),
+                TrafficMix.parse(property("mix", "read=70,charge=20,use=10")),
+                Long.parseLong(property("amount", "100")),
+                Integer.parseInt(property("maxInFlight", "10000")),
+                Double.parseDouble(property("slo.p99Millis", "1000")),
+                Double.parseDouble(property("slo.maxErrorRate", "0.001")),
+                Path.of(property("reportDir", "build/loadtest"))
+        );
+        if (options.rate() < 1 || options.users() < 1 || options.maxInFlight() < 1) {
+            throw new IllegalArgumentException("rate, users, maxInFlight 는 1 이상이어야 합니다.");
+        }
+        return options;
+    }
+
+    private static String property(String key, String defaultValue) {
+        return System.getProperty("loadTest." + key, defaultValue);
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.loadtest.TrafficMix.Operation;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PointController 부하 테스트
+ * - 실행 중인 서버(./gradlew bootRun)에 HTTP 로 조회/충전/사용 요청을 일정한 도착률로 보낸다.
+ * - 응답을 기다리지 않고 정해진 시각마다 요청을 보내므로(open-loop) 서버가 느려지면 그만큼 지연 시간에 드러난다.
+ * - 종료 시 요청 종류별 지연 시간 백분위를 출력하고, SLO(p99, 에러율)를 만족하지 못하면 종료 코드 1 을 반환한다.
+ */
+public final class LoadTestRunner {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final UserDistribution userDistribution;
+    private final HttpClient httpClient;
+    private final LatencyReport report = new LatencyReport();
+
+    LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.userDistribution = UserDistribution.of(options.skew(), options.users());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        System.out.printf("load test: %s, %d req/s, warmup %ds, duration %ds, users=%d (%s), mix=%s%n",
+                options.baseUrl(), options.rate(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                options.users(), options.skew(), options.mix().weights());
+
+        LatencyReport report = new LoadTestRunner(options).run();
+        report.print(System.out);
+        report.writeHistograms(options.reportDirectory());
+
+        boolean passed = report.p99Millis() <= options.sloP99Millis() && report.errorRate() <= options.sloMaxErrorRate();
+        System.out.printf("SLO %s: p99 %.1fms (<= %.1fms), error rate %.4f (<= %.4f)%n",
+                passed ? "PASSED" : "FAILED",
+                report.p99Millis(), options.sloP99Millis(), report.errorRate(), options.sloMaxErrorRate());
+        System.exit(passed ? 0 : 1);
+    }
+
+    LatencyReport run() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        for (long sequence = 0; ; sequence++) {
+            // 누적 오차가 생기지 않도록 매번 시작 시각 기준으로 i 번째 요청의 예정 시각을 계산한다.
+            long scheduledAt = start + sequence * NANOS_PER_SECOND / options.rate();
+            if (scheduledAt >= end) {
+                break;
+            }
+            waitUntil(scheduledAt);
+
+            boolean measured = scheduledAt >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.recordDropped();
+                }
+                continue;
+            }
+            send(options.mix().next(), userDistribution.next(), scheduledAt, measured, inFlight);
+        }
+
+        if (!inFlight.tryAcquire(options.maxInFlight(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.printf("응답을 받지 못한 요청이 남아 있습니다: %d 건%n", options.maxInFlight() - inFlight.availablePermits());
+        }
+        return report;
+    }
+
+    private void send(Operation operation, long userId, long scheduledAt, boolean measured, Semaphore inFlight) {
+        httpClient.sendAsync(request(operation, userId), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - scheduledAt;
+                    if (measured) {
+                        if (error != null) {
+                            report.recordFailure(operation, latency);
+                        } else {
+                            report.record(operation, latency, response.statusCode());
+                        }
+                    }
+                    inFlight.release();
+                });
+    }
+
+    private HttpRequest request(Operation operation, long userId) {
+        String path = "/point/" + userId;
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case READ -> builder.uri(options.baseUrl().resolve(path)).GET().build();
+            case CHARGE -> patch(builder, path + "/charge");
+            case USE -> patch(builder, path + "/use");
+        };
+    }
+
+    private HttpRequest patch(HttpRequest.Builder builder, String path) {
+        return builder.uri(options.baseUrl().resolve(path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(options.amount())))
+                .build();
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 조회/충전/사용 요청 비율 (예: read=70,charge=20,use=10)
+ */
+record TrafficMix(Map<Operation, Integer> weights, int totalWeight) {
+
+    enum Operation {
+        READ, CHARGE, USE
+    }
+
+    static TrafficMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("요청 비율 형식이 올바르지 않습니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("요청 비율은 0 이상이어야 합니다: " + entry);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("요청 비율의 합은 0보다 커야 합니다.");
+        }
+        return new TrafficMix(weights, totalWeight);
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("도달할 수 없는 위치입니다.");
+    }
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청할 유저 ID 분포
+ * - uniform : 1 ~ users 를 고르게 뽑는다.
+ * - zipf : 소수의 핫 유저에게 요청이 몰리도록 Zipf 분포(지수 1.0)로 뽑는다.
+ */
+final class UserDistribution {
+
+    private final int users;
+    private final double[] cumulative;
+
+    private UserDistribution(int users, double[] cumulative) {
+        this.users = users;
+        this.cumulative = cumulative;
+    }
+
+    static UserDistribution of(String skew, int users) {
+        return switch (skew) {
+            case "uniform" -> new UserDistribution(users, null);
+            case "zipf" -> new UserDistribution(users, zipfCumulative(users));
+            default -> throw new IllegalArgumentException("지원하지 않는 분포입니다: " + skew);
+        };
+    }
+
+    long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cumulative == null) {
+            return random.nextInt(users) + 1L;
+        }
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (position >= 0 ? position : -position - 1) + 1L;
+    }
+
+    private static double[] zipfCumulative(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -1,5 +1,6 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -18,4 +19,11 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.badRequest()
                 .body(new ErrorResponse("400", e.getMessage()));
     }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(AdmissionRejectedException e) {
+        return ResponseEntity.status(429)
+                .header("Retry-After", "1")
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
 }
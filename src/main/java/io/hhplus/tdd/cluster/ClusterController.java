@@ -0,0 +1,29 @@
+package io.hhplus.tdd.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * 클러스터 구성원 조회 (point.cluster.enabled=true)
+ * - 구성원은 point.cluster.nodes 설정으로만 바꾼다. (API 로 바꾸면 아무나 전달 대상을 끼워 넣을 수 있고, 받은 노드의 링만 바뀜)
+ */
+@RestController
+@RequestMapping("/cluster")
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+
+    public ClusterController(ClusterMembership clusterMembership) {
+        this.clusterMembership = clusterMembership;
+    }
+
+    @GetMapping("/nodes")
+    public Set<String> nodes() {
+        return clusterMembership.nodes();
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 클러스터 구성원과 유저 담당 노드 (point.cluster.enabled=true)
+ * - 노드는 다른 노드가 요청을 보낼 base URL(예: http://localhost:8080)로 구분한다.
+ * - 구성원은 point.cluster.nodes 설정으로만 정하고 실행 중에는 바꾸지 않는다. 자기 자신(point.cluster.self)은 항상 포함한다.
+ * - 잔액/내역은 담당 노드에만 있으므로, 실행 중에 링이 바뀌면 옮겨진 구간의 유저가 새 담당 노드에서 0 포인트로 보이고 되돌리면 옛 잔액이 살아난다.
+ *   그래서 노드를 늘리거나 줄이려면 모든 노드를 같은 설정으로 다시 띄워야 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class ClusterMembership {
+
+    private final String self;
+    private final ConsistentHashRing ring;
+
+    public ClusterMembership(@Value("${point.cluster.self}") String self,
+                             @Value("${point.cluster.nodes:}") String[] nodes,
+                             @Value("${point.cluster.virtual-nodes:160}") int virtualNodes) {
+        this.self = normalize(self);
+        Set<String> members = new LinkedHashSet<>();
+        members.add(this.self);
+        Arrays.stream(nodes).filter(node -> !node.isBlank()).map(ClusterMembership::normalize).forEach(members::add);
+        this.ring = new ConsistentHashRing(members, virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        return self.equals(ownerOf(userId));
+    }
+
+    public Set<String> nodes() {
+        return ring.nodes();
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
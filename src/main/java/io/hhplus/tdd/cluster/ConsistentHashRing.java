@@ -0,0 +1,81 @@
+package io.hhplus.tdd.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드를 가진 consistent hash 링 (불변)
+ * - 노드마다 virtualNodes 개의 점을 링 위에 흩어 놓고, 유저 ID 의 해시에서 시계 방향으로 처음 만나는 점의 노드가 유저를 담당한다.
+ * - 노드가 들어오거나 나가도 그 노드의 점과 맞닿은 구간의 유저만 담당 노드가 바뀐다.
+ * - 노드 변경은 새 링을 만들어 반환하므로, 조회하는 쪽은 락 없이 한 시점의 링을 그대로 읽는다.
+ */
+public final class ConsistentHashRing {
+
+    private final Set<String> nodes;
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다.");
+        }
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        this.virtualNodes = virtualNodes;
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * 유저를 담당하는 노드
+     */
+    public String ownerOf(long userId) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("클러스터에 노드가 없습니다.");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return (entry != null) ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    public ConsistentHashRing with(String node) {
+        Set<String> joined = new LinkedHashSet<>(nodes);
+        joined.add(node);
+        return new ConsistentHashRing(joined, virtualNodes);
+    }
+
+    public ConsistentHashRing without(String node) {
+        Set<String> left = new LinkedHashSet<>(nodes);
+        left.remove(node);
+        return new ConsistentHashRing(left, virtualNodes);
+    }
+
+    // FNV-1a 로 문자열을 접은 뒤 mix 로 비트를 고르게 퍼뜨린다.
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 의 마무리 단계 (연속된 유저 ID 도 링 위에 고르게 흩어진다)
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
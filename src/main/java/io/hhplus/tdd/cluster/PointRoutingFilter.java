@@ -0,0 +1,315 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointBulkItem;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point/{id}/... 요청을 유저 담당 노드로 전달한다. (point.cluster.enabled=true)
+ * - 담당 노드가 자신이면 그대로 처리하고, 아니면 같은 메서드/경로/본문으로 담당 노드에 보낸 뒤 응답을 그대로 돌려준다.
+ * - 전달은 하나의 HttpClient(HTTP/1.1)로 하므로 노드 사이의 keep-alive 연결을 재사용한다.
+ * - 전달한 요청에는 X-Point-Forwarded-By(보낸 노드), X-Point-Cluster-Timestamp(보낸 시각)와
+ *   X-Point-Cluster-Signature(메서드/경로/보낸 노드/시각/본문에 대한 point.cluster.secret HMAC-SHA256) 헤더를 붙인다. 비밀값 자체는 보내지 않는다.
+ * - X-Point-Forwarded-By 가 있는 요청은 구성원 노드가 보낸, 서명이 맞고 시각이 허용 범위(max-clock-skew-millis) 안인 경우에만 받고(아니면 403), 다시 전달하지 않는다.
+ *   자기 링으로 봐서 담당 노드가 아니면 처리하지 않고 421 로 거절한다. (설정이 다른 노드끼리 요청이 돌거나 엉뚱한 노드에 반영되지 않음)
+ * - /point/bulk 는 본문의 유저들을 한 노드가 모두 담당하면 그 노드에서 처리하고, 담당 노드가 여럿이면 421 로 거절한다. (노드별로 나눠 보내야 함)
+ * - 그 밖에 유저 ID 가 경로에 없는 요청은 받은 노드에서 처리한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cluster.enabled", havingValue = "true")
+public class PointRoutingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_BY_HEADER = "X-Point-Forwarded-By";
+    static final String CLUSTER_TIMESTAMP_HEADER = "X-Point-Cluster-Timestamp";
+    static final String CLUSTER_SIGNATURE_HEADER = "X-Point-Cluster-Signature";
+
+    private static final Logger log = LoggerFactory.getLogger(PointRoutingFilter.class);
+
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(-?\\d+)(/.*)?$");
+    private static final String BULK_PATH = "/point/bulk";
+    private static final TypeReference<List<PointBulkItem>> BULK_ITEMS = new TypeReference<>() {
+    };
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key");
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", "content-length", "date");
+
+    private final ClusterMembership clusterMembership;
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final long maxClockSkewMillis;
+    private final Duration forwardTimeout;
+    private final HttpClient httpClient;
+
+    public PointRoutingFilter(ClusterMembership clusterMembership, ObjectMapper objectMapper,
+                              @Value("${point.cluster.secret}") String secret,
+                              @Value("${point.cluster.max-clock-skew-millis:30000}") long maxClockSkewMillis,
+                              @Value("${point.cluster.connect-timeout-millis:1000}") long connectTimeoutMillis,
+                              @Value("${point.cluster.forward-timeout-millis:5000}") long forwardTimeoutMillis) {
+        this.clusterMembership = clusterMembership;
+        this.objectMapper = objectMapper;
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("point.cluster.secret 를 설정해야 합니다.");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.maxClockSkewMillis = maxClockSkewMillis;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean bulk = isBulk(request);
+        String owner = bulk ? null : ownerOf(request);
+        if (!bulk && owner == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 서명 확인과 일괄 요청 분류에 본문이 필요하므로 미리 읽어 두고, 뒤쪽에서는 읽어 둔 본문을 다시 읽게 한다.
+        CachedBodyRequest cached = new CachedBodyRequest(request, request.getInputStream().readAllBytes());
+        if (bulk) {
+            Set<String> owners = bulkOwnersOf(cached.body);
+            if (owners.size() > 1) {
+                writeError(response, 421, "일괄 요청의 유저들을 담당하는 노드가 여러 개입니다. 담당 노드별로 나눠 보내야 합니다.");
+                return;
+            }
+            // 본문을 읽지 못하면 받은 노드의 컨트롤러가 400 으로 응답한다.
+            owner = owners.isEmpty() ? clusterMembership.self() : owners.iterator().next();
+        }
+
+        String forwardedBy = request.getHeader(FORWARDED_BY_HEADER);
+        if (forwardedBy != null) {
+            if (!isFromPeer(forwardedBy, cached)) {
+                writeError(response, 403, "클러스터 노드가 보낸 요청이 아닙니다.");
+            } else if (!owner.equals(clusterMembership.self())) {
+                writeError(response, 421, "이 노드는 해당 유저를 담당하지 않습니다.");
+            } else {
+                filterChain.doFilter(cached, response);
+            }
+            return;
+        }
+
+        if (owner.equals(clusterMembership.self())) {
+            filterChain.doFilter(cached, response);
+            return;
+        }
+        forward(owner, cached, response);
+    }
+
+    private boolean isFromPeer(String forwardedBy, CachedBodyRequest request) {
+        if (forwardedBy.equals(clusterMembership.self()) || !clusterMembership.nodes().contains(forwardedBy)) {
+            return false;
+        }
+        String signature = request.getHeader(CLUSTER_SIGNATURE_HEADER);
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(request.getHeader(CLUSTER_TIMESTAMP_HEADER));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (signature == null || Math.abs(System.currentTimeMillis() - timestamp) > maxClockSkewMillis) {
+            return false;
+        }
+        String expected = sign(secret, request.getMethod(), pathAndQuery(request), forwardedBy, timestamp, request.body);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 노드 사이에 전달하는 요청의 서명
+     * - 메서드, 경로(쿼리 포함), 보낸 노드, 보낸 시각, 본문을 point.cluster.secret 으로 HMAC-SHA256 한 값(Base64)
+     */
+    static String sign(byte[] secret, String method, String pathAndQuery, String forwardedBy, long timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, SIGNATURE_ALGORITHM));
+            mac.update(String.join("\n", method, pathAndQuery, forwardedBy, String.valueOf(timestamp), "").getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("클러스터 요청 서명을 만들지 못했습니다.", e);
+        }
+    }
+
+    private boolean isBulk(HttpServletRequest request) {
+        return BULK_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    // 일괄 요청 항목들의 담당 노드 (본문을 읽지 못하면 빈 집합)
+    private Set<String> bulkOwnersOf(byte[] body) {
+        List<PointBulkItem> items;
+        try {
+            items = objectMapper.readValue(body, BULK_ITEMS);
+        } catch (IOException e) {
+            return Set.of();
+        }
+        Set<String> owners = new HashSet<>();
+        if (items != null) {
+            for (PointBulkItem item : items) {
+                if (item != null) {
+                    owners.add(clusterMembership.ownerOf(item.userId()));
+                }
+            }
+        }
+        return owners;
+    }
+
+    // 경로에 유저 ID 가 없으면 null
+    private String ownerOf(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return clusterMembership.ownerOf(Long.parseLong(matcher.group(1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String pathAndQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + ((query == null) ? "" : "?" + query);
+    }
+
+    private void forward(String owner, CachedBodyRequest request, HttpServletResponse response) throws IOException {
+        String pathAndQuery = pathAndQuery(request);
+        byte[] body = request.body;
+        long timestamp = System.currentTimeMillis();
+
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), (body.length == 0) ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY_HEADER, clusterMembership.self())
+                .header(CLUSTER_TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(CLUSTER_SIGNATURE_HEADER, sign(secret, request.getMethod(), pathAndQuery, clusterMembership.self(), timestamp, body));
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                forwarded.header(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> ownerResponse;
+        try {
+            ownerResponse = httpClient.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeUnavailable(owner, response, e);
+            return;
+        } catch (IOException e) {
+            writeUnavailable(owner, response, e);
+            return;
+        }
+
+        response.setStatus(ownerResponse.statusCode());
+        ownerResponse.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        try (InputStream ownerBody = ownerResponse.body()) {
+            ownerBody.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void writeUnavailable(String owner, HttpServletResponse response, Exception e) throws IOException {
+        log.warn("담당 노드로 요청 전달 실패 - owner: {}", owner, e);
+        writeError(response, 503, "담당 노드에 요청을 전달하지 못했습니다.");
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(status), message));
+    }
+
+    // 미리 읽어 둔 본문을 다시 읽을 수 있게 감싼 요청
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    (encoding == null) ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
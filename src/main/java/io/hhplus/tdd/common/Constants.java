@@ -4,6 +4,12 @@ public class Constants {
 
     public static final long MAX_POINT = 1_000_000L;
 
+    // 포인트 이용 내역 페이지 조회 시 한 번에 조회할 수 있는 최대 건수
+    public static final int MAX_HISTORY_PAGE_SIZE = 1_000;
+
+    // 일괄 충전/사용 요청 한 번에 담을 수 있는 최대 건수
+    public static final int MAX_BULK_ITEMS = 100_000;
+
     // 인스턴스화 방지 - new Constants() 못하게 막음 (유틸 클래스 패턴)
     private Constants() {}
 }
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentUserPointRepository 앞단의 write-through 캐시 (point.balance.store=memory, 기본값)
+ * - 최대 point.balance.cache.maximum-size 건까지 보관하고, 넘치면 가장 오래 사용되지 않은 유저부터 제거한다. (LRU)
+ * - 쓰기는 저장소에 먼저 반영한 뒤 캐시를 갱신하므로, 충전/사용이 성공한 이후의 조회는 항상 최신 포인트를 본다.
+ * - 캐시 미스는 유저별로 한 번만 저장소를 조회하고, 같은 유저를 동시에 조회한 요청은 그 결과를 함께 기다린다.
+ * - 조회 중에 쓰기가 끝나면 캐시에는 쓰기 결과가 남고, 조회 결과는 캐시에 다시 들어가지 않는다.
+ * - 분산 락(point.lock.provider=distributed)을 새로 잡으면 다른 노드가 그 사이 반영했을 수 있으므로 해당 유저의 캐시를 비운다. (evict)
+ * - 지표: point.balance.cache.hits / misses / evictions (누적 수), point.balance.cache.size (현재 캐시된 유저 수)
+ */
+@Component
+@ConditionalOnProperty(name = "point.balance.store", havingValue = "memory", matchIfMissing = true)
+public class CachedUserPointRepository implements UserPointRepository {
+
+    private final UserPointRepository userPointStore;
+    private final LinkedHashMap<Long, CompletableFuture<UserPoint>> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public CachedUserPointRepository(LatencyProfile latencyProfile,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${point.balance.cache.maximum-size:100000}") int maximumSize) {
+        this(new ConcurrentUserPointRepository(latencyProfile, meterRegistry), meterRegistry, maximumSize);
+    }
+
+    public CachedUserPointRepository(UserPointRepository userPointStore, MeterRegistry meterRegistry, int maximumSize) {
+        this.userPointStore = userPointStore;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<UserPoint>> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        FunctionCounter.builder("point.balance.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.balance.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.balance.cache.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("point.balance.cache.size", this, repository -> repository.cacheStats().size()).register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        CompletableFuture<UserPoint> cached;
+        CompletableFuture<UserPoint> loading = null;
+
+        // 캐시 맵 조작만 동기화하고, 저장소 조회는 락 밖에서 수행한다.
+        synchronized (cache) {
+            cached = cache.get(id);
+            if (cached == null) {
+                loading = new CompletableFuture<>();
+                cache.put(id, loading);
+            }
+        }
+
+        if (loading == null) {
+            hits.increment();
+            return join(cached);
+        }
+
+        misses.increment();
+        try {
+            loading.complete(userPointStore.selectById(id));
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            synchronized (cache) {
+                cache.remove(id, loading);
+            }
+        }
+        return join(loading);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = userPointStore.insertOrUpdate(id, amount);
+        synchronized (cache) {
+            cache.put(id, CompletableFuture.completedFuture(userPoint));
+        }
+        return userPoint;
+    }
+
+    @Override
+    public void evict(long id) {
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * 캐시 지표
+     * - hits / misses : 캐시 적중 / 미스 수
+     * - evictions : 최대 크기를 넘어 제거된 수
+     * - size : 현재 캐시된 유저 수
+     */
+    public CacheStats cacheStats() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private UserPoint join(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PendingPointHistory;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전역 락 없이 저장하는 포인트 이용 내역 저장소
+ * - PointHistoryTable 과 같은 API 와 지연 시간을 흉내 내되, ID 는 HistoryIdAllocator 의 샤드별 블록에서 받고 내역은 lock-free 큐에 추가한다.
+ * - insertAll 은 여러 내역을 한 번의 호출로 저장한다. (지연 시간도 한 번만 발생)
+ * - 지연 시간은 LatencyProfile 로 정한다. (PointHistoryTable 과 같은 저장 300ms 기준)
+ * - 지표: point.table.duration (table=point_history, operation=insert/select)
+ */
+public class ConcurrentPointHistoryRepository implements PointHistoryRepository {
+
+    private final Queue<PointHistory> table = new ConcurrentLinkedQueue<>();
+    private final HistoryIdAllocator idAllocator = new HistoryIdAllocator();
+    private final LatencyProfile latencyProfile;
+    private final Timer insertTimer;
+    private final Timer selectTimer;
+
+    public ConcurrentPointHistoryRepository(LatencyProfile latencyProfile, MeterRegistry meterRegistry) {
+        this.latencyProfile = latencyProfile;
+        this.insertTimer = meterRegistry.timer("point.table.duration", "table", "point_history", "operation", "insert");
+        this.selectTimer = meterRegistry.timer("point.table.duration", "table", "point_history", "operation", "select");
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return insertTimer.record(() -> {
+            throttle(300L);
+            PointHistory pointHistory = new PointHistory(idAllocator.allocate(userId), userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        });
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PendingPointHistory> histories) {
+        return insertTimer.record(() -> {
+            throttle(300L);
+            List<PointHistory> inserted = new ArrayList<>(histories.size());
+            for (PendingPointHistory history : histories) {
+                inserted.add(new PointHistory(idAllocator.allocate(history.userId()), history.userId(), history.amount(), history.type(), history.updateMillis()));
+            }
+            table.addAll(inserted);
+            return inserted;
+        });
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectTimer.record(() -> {
+            // 같은 유저의 insert 가 동시에 끝나면 큐 순서와 ID 순서가 어긋날 수 있으므로 ID 순으로 정렬한다.
+            return table.stream()
+                    .filter(pointHistory -> pointHistory.userId() == userId)
+                    .sorted(Comparator.comparingLong(PointHistory::id))
+                    .toList();
+        });
+    }
+
+    private void throttle(long millis) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyProfile.nextDelayNanos(millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 읽고 쓸 수 있는 유저 포인트 저장소
+ * - UserPointTable 과 같은 API 와 지연 시간을 흉내 내되, 서로 다른 유저의 갱신이 동시에 들어와도 안전하도록 ConcurrentHashMap 에 보관한다.
+ * - 지연 시간은 LatencyProfile 로 정한다. (UserPointTable 과 같은 조회 200ms, 저장 300ms 기준)
+ * - 지표: point.table.duration (table=user_point, operation=select/upsert)
+ */
+public class ConcurrentUserPointRepository implements UserPointRepository {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final LatencyProfile latencyProfile;
+    private final Timer selectTimer;
+    private final Timer upsertTimer;
+
+    public ConcurrentUserPointRepository(LatencyProfile latencyProfile, MeterRegistry meterRegistry) {
+        this.latencyProfile = latencyProfile;
+        this.selectTimer = meterRegistry.timer("point.table.duration", "table", "user_point", "operation", "select");
+        this.upsertTimer = meterRegistry.timer("point.table.duration", "table", "user_point", "operation", "upsert");
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return selectTimer.record(() -> {
+            throttle(200);
+            return table.getOrDefault(id, UserPoint.empty(id));
+        });
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return upsertTimer.record(() -> {
+            throttle(300);
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        });
+    }
+
+    private void throttle(long millis) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyProfile.nextDelayNanos(millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+}
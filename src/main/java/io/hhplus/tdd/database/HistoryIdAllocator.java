@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 락 없이 포인트 이용 내역 ID 를 채번한다.
+ * - 유저를 샤드로 나누고, 샤드마다 전역 카운터에서 받아 온 연속된 ID 블록(blockSize 개)을 하나씩 꺼내 쓴다.
+ * - 평소에는 샤드 블록의 AtomicLong 만 증가시키므로 모든 insert 가 하나의 카운터를 두고 경합하지 않는다.
+ * - 블록을 다 쓰면 전역 카운터에서 새 블록을 받아 CAS 로 교체한다. (교체에 진 스레드가 받은 블록은 버려져 ID 에 빈 구간이 생길 수 있음)
+ * - 한 유저는 항상 같은 샤드를 쓰고 샤드의 블록은 갈수록 커지므로, 한 유저의 ID 는 채번한 순서대로 증가한다.
+ * - 서로 다른 유저 사이의 ID 는 시간 순서가 아니다. (cursor 페이지 조회는 유저 단위라 영향 없음)
+ */
+public class HistoryIdAllocator {
+
+    public static final int DEFAULT_SHARDS = 64;
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final AtomicLong nextBlockStart = new AtomicLong(1);
+    private final AtomicReferenceArray<Block> blocks;
+    private final int blockSize;
+
+    public HistoryIdAllocator() {
+        this(DEFAULT_SHARDS, DEFAULT_BLOCK_SIZE);
+    }
+
+    public HistoryIdAllocator(int shards, int blockSize) {
+        if (shards <= 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("샤드 수와 블록 크기는 1 이상이어야 합니다.");
+        }
+        this.blocks = new AtomicReferenceArray<>(shards);
+        this.blockSize = blockSize;
+    }
+
+    public long allocate(long userId) {
+        int shard = (int) Math.floorMod((userId * 0x9E3779B97F4A7C15L) >>> 32, (long) blocks.length());
+        while (true) {
+            Block block = blocks.get(shard);
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+            long start = nextBlockStart.getAndAdd(blockSize);
+            blocks.compareAndSet(shard, block, new Block(start, start + blockSize));
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
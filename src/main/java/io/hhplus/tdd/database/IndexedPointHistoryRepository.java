@@ -0,0 +1,166 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PendingPointHistory;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointSummaryAggregator;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 유저별 인덱스를 가진 포인트 이용 내역 저장소 (point.history.store=memory, 기본값)
+ * - 저장은 ConcurrentPointHistoryRepository 에 위임하고, 저장된 내역을 유저별 append-only 리스트와 종류(충전/사용)별 리스트에 함께 보관한다.
+ * - 위임한 저장소의 selectAllByUserId 는 전체 내역을 훑지만, 이 저장소의 조회 비용은 해당 유저의 내역 수에만 비례한다.
+ * - 페이지 조회는 종류 조건이 있으면 그 종류의 리스트만 읽고, cursor 와 from 위치를 이진 탐색으로 찾아 to 를 지나면 멈춘다.
+ * - 한 유저의 내역 시각이 ID 순서와 어긋난 적이 있으면(시계 역행 등) 그 유저는 시간 조건을 한 건씩 확인한다.
+ * - 이용 요약은 인덱스에 내역을 추가할 때 함께 갱신한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.store", havingValue = "memory", matchIfMissing = true)
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryRepository pointHistoryStore;
+    private final ConcurrentHashMap<Long, UserHistories> index = new ConcurrentHashMap<>();
+    private final PointSummaryAggregator summaries = new PointSummaryAggregator();
+
+    @Autowired
+    public IndexedPointHistoryRepository(LatencyProfile latencyProfile, MeterRegistry meterRegistry) {
+        this(new ConcurrentPointHistoryRepository(latencyProfile, meterRegistry));
+    }
+
+    public IndexedPointHistoryRepository(PointHistoryRepository pointHistoryStore) {
+        this.pointHistoryStore = pointHistoryStore;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = pointHistoryStore.insert(userId, amount, type, updateMillis);
+
+        UserHistories histories = index.computeIfAbsent(userId, id -> new UserHistories());
+        synchronized (histories) {
+            histories.append(pointHistory);
+        }
+        summaries.record(userId, amount, type, updateMillis);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PendingPointHistory> histories) {
+        List<PointHistory> inserted = pointHistoryStore.insertAll(histories);
+        for (PointHistory pointHistory : inserted) {
+            UserHistories userHistories = index.computeIfAbsent(pointHistory.userId(), id -> new UserHistories());
+            synchronized (userHistories) {
+                userHistories.append(pointHistory);
+            }
+            summaries.record(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistories histories = index.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        synchronized (histories) {
+            return List.copyOf(histories.all);
+        }
+    }
+
+    @Override
+    public PointSummary selectSummary(long userId) {
+        return summaries.get(userId);
+    }
+
+    @Override
+    public PointHistoryPage selectPage(long userId, PointHistoryQuery query) {
+        UserHistories histories = index.get(userId);
+        if (histories == null) {
+            return new PointHistoryPage(List.of(), null);
+        }
+
+        List<PointHistory> collected = new ArrayList<>();
+        synchronized (histories) {
+            List<PointHistory> candidates = histories.of(query.type());
+            boolean timeOrdered = histories.timeOrdered;
+            int position = (query.cursor() == null) ? 0 : firstIndex(candidates, history -> history.id() > query.cursor());
+            if (timeOrdered && query.from() != null) {
+                position = Math.max(position, firstIndex(candidates, history -> history.updateMillis() >= query.from()));
+            }
+            for (; position < candidates.size() && collected.size() <= query.limit(); position++) {
+                PointHistory pointHistory = candidates.get(position);
+                if (timeOrdered && query.to() != null && pointHistory.updateMillis() > query.to()) {
+                    break;
+                }
+                if (query.matches(pointHistory)) {
+                    collected.add(pointHistory);
+                }
+            }
+        }
+        return PointHistoryPage.of(collected, query.limit());
+    }
+
+    // 조건이 거짓 → 참 순서로 바뀌는 목록에서 조건이 처음 참이 되는 위치 (없으면 size)
+    private static int firstIndex(List<PointHistory> histories, Predicate<PointHistory> condition) {
+        int low = 0;
+        int high = histories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (condition.test(histories.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 한 유저의 내역 인덱스 (이 객체의 모니터 안에서만 접근한다)
+     * - all 과 종류별 리스트 모두 ID 순으로 정렬되어 있다.
+     * - timeOrdered : ID 순서대로 updateMillis 가 줄어들지 않는지 여부 (한 번 어긋나면 다시 true 가 되지 않는다)
+     */
+    private static final class UserHistories {
+
+        private final List<PointHistory> all = new ArrayList<>();
+        private final Map<TransactionType, List<PointHistory>> byType = new EnumMap<>(TransactionType.class);
+        private boolean timeOrdered = true;
+
+        void append(PointHistory pointHistory) {
+            int position = insertInIdOrder(all, pointHistory);
+            if ((position > 0 && all.get(position - 1).updateMillis() > pointHistory.updateMillis())
+                    || (position < all.size() - 1 && pointHistory.updateMillis() > all.get(position + 1).updateMillis())) {
+                timeOrdered = false;
+            }
+            insertInIdOrder(byType.computeIfAbsent(pointHistory.type(), type -> new ArrayList<>()), pointHistory);
+        }
+
+        List<PointHistory> of(TransactionType type) {
+            return (type == null) ? all : byType.getOrDefault(type, List.of());
+        }
+
+        // 동일 유저의 insert 가 동시에 끝나면 ID 순서와 도착 순서가 어긋날 수 있으므로, ID 순서를 유지하도록 끼워 넣는다.
+        private static int insertInIdOrder(List<PointHistory> histories, PointHistory pointHistory) {
+            int position = histories.size();
+            while (position > 0 && histories.get(position - 1).id() > pointHistory.id()) {
+                position--;
+            }
+            histories.add(position, pointHistory);
+            return position;
+        }
+    }
+}
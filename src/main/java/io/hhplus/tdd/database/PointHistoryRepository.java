@@ -0,0 +1,69 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PendingPointHistory;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 이용 내역 저장소
+ * - PointHistoryTable 과 같은 API 를 제공하며, 서비스 계층은 테이블 대신 이 인터페이스를 통해 내역을 읽고 쓴다.
+ */
+public interface PointHistoryRepository {
+
+    /**
+     * 포인트 이용 내역을 저장하고, 저장된 내역을 반환한다.
+     */
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 여러 내역을 한 번에 저장하고, 저장된 내역을 같은 순서로 반환한다.
+     * - 기본 구현은 한 건씩 저장한다. 저장 한 번의 비용이 큰 저장소는 한 번에 저장하도록 재정의한다.
+     */
+    default List<PointHistory> insertAll(List<PendingPointHistory> histories) {
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (PendingPointHistory history : histories) {
+            inserted.add(insert(history.userId(), history.amount(), history.type(), history.updateMillis()));
+        }
+        return inserted;
+    }
+
+    /**
+     * 특정 유저의 포인트 이용 내역을 ID 순으로 조회한다.
+     */
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 특정 유저의 포인트 이용 요약(충전/사용 합계와 건수, 마지막 이용 시각)을 조회한다.
+     * - 기본 구현은 전체 내역을 합산한다. 저장할 때마다 요약을 갱신해 두는 저장소는 바로 돌려주도록 재정의한다.
+     */
+    default PointSummary selectSummary(long userId) {
+        PointSummary summary = PointSummary.empty(userId);
+        for (PointHistory pointHistory : selectAllByUserId(userId)) {
+            summary = summary.plus(pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        }
+        return summary;
+    }
+
+    /**
+     * 특정 유저의 포인트 이용 내역을 조건에 맞게 한 페이지 조회한다.
+     * - 기본 구현은 전체 내역을 조회한 뒤 거른다. 인덱스를 가진 저장소는 cursor 위치부터 바로 조회하도록 재정의한다.
+     */
+    default PointHistoryPage selectPage(long userId, PointHistoryQuery query) {
+        List<PointHistory> collected = new ArrayList<>();
+        for (PointHistory pointHistory : selectAllByUserId(userId)) {
+            if (query.matches(pointHistory)) {
+                collected.add(pointHistory);
+                if (collected.size() > query.limit()) {
+                    break;
+                }
+            }
+        }
+        return PointHistoryPage.of(collected, query.limit());
+    }
+}
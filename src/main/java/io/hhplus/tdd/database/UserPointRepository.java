@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 포인트 저장소
+ * - UserPointTable 과 같은 API 를 제공하며, 서비스 계층은 테이블 대신 이 인터페이스를 통해 포인트를 읽고 쓴다.
+ */
+public interface UserPointRepository {
+
+    /**
+     * 유저의 포인트를 조회한다.
+     * - 유저가 존재하지 않으면 0포인트를 반환한다.
+     */
+    UserPoint selectById(long id);
+
+    /**
+     * 유저의 포인트를 저장하고, 저장된 포인트를 반환한다.
+     */
+    UserPoint insertOrUpdate(long id, long amount);
+
+    /**
+     * 유저 포인트를 따로 보관하는 캐시가 있으면 비운다.
+     * - 다른 노드가 이 유저를 반영했을 수 있을 때(분산 락을 새로 잡았을 때) 호출된다.
+     */
+    default void evict(long id) {
+    }
+}
@@ -0,0 +1,235 @@
+package io.hhplus.tdd.database.columnar;
+
+import io.hhplus.tdd.database.HistoryIdAllocator;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointSummaryAggregator;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+/**
+ * 컬럼 기반 포인트 이용 내역 저장소 (point.history.store=columnar)
+ * - 유저별로 내역을 HistoryChunk 의 원시 타입 컬럼에 담고, PointHistory 객체는 조회 결과로 반환할 때만 만든다.
+ * - 페이지 조회의 cursor/시간/종류 조건도 컬럼 값으로 바로 확인하므로 조건에 맞지 않는 행은 객체를 만들지 않는다.
+ * - 종류(충전/사용)별 행 번호를 int 배열로 따로 두어, 종류 조건이 있으면 그 종류의 행만 읽는다.
+ * - 시각이 ID 순서대로 쌓인 유저는 cursor 와 from 위치를 이진 탐색으로 찾고 to 를 지나면 멈춘다. (시계 역행 등으로 어긋난 유저는 한 건씩 확인)
+ * - 이용 요약은 행을 추가할 때 함께 갱신한다.
+ * - ID 는 유저 락 안에서 HistoryIdAllocator 로 채번하므로 한 유저의 내역은 항상 ID 순으로 쌓인다.
+ * - 지표: point.history.columnar.rows (행 수), point.history.columnar.bytes (컬럼 배열이 차지하는 바이트 근사치)
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.store", havingValue = "columnar")
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+    private final ConcurrentHashMap<Long, UserHistory> histories = new ConcurrentHashMap<>();
+    private final HistoryIdAllocator idAllocator = new HistoryIdAllocator();
+    private final PointSummaryAggregator summaries = new PointSummaryAggregator();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder footprintBytes = new LongAdder();
+
+    public ColumnarPointHistoryRepository(MeterRegistry meterRegistry) {
+        Gauge.builder("point.history.columnar.rows", rows, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("point.history.columnar.bytes", footprintBytes, LongAdder::sum).register(meterRegistry);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        UserHistory history = histories.computeIfAbsent(userId, id -> new UserHistory());
+        long id;
+        synchronized (history) {
+            id = idAllocator.allocate(userId);
+            footprintBytes.add(history.append(id, amount, type, updateMillis));
+        }
+        rows.increment();
+        summaries.record(userId, amount, type, updateMillis);
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistory history = histories.get(userId);
+        if (history == null) {
+            return List.of();
+        }
+        synchronized (history) {
+            List<PointHistory> result = new ArrayList<>(history.size);
+            for (HistoryChunk chunk : history.chunks) {
+                for (int row = 0; row < chunk.size(); row++) {
+                    result.add(chunk.materialize(userId, row));
+                }
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public PointSummary selectSummary(long userId) {
+        return summaries.get(userId);
+    }
+
+    @Override
+    public PointHistoryPage selectPage(long userId, PointHistoryQuery query) {
+        UserHistory history = histories.get(userId);
+        if (history == null) {
+            return new PointHistoryPage(List.of(), null);
+        }
+
+        List<PointHistory> collected = new ArrayList<>();
+        synchronized (history) {
+            TransactionType type = query.type();
+            int count = history.count(type);
+            int position = (query.cursor() == null) ? 0 : history.firstPosition(type, row -> history.idAt(row) > query.cursor());
+            if (history.timeOrdered && query.from() != null) {
+                position = Math.max(position, history.firstPosition(type, row -> history.updateMillisAt(row) >= query.from()));
+            }
+            for (; position < count && collected.size() <= query.limit(); position++) {
+                int row = history.rowAt(type, position);
+                long updateMillis = history.updateMillisAt(row);
+                if (history.timeOrdered && query.to() != null && updateMillis > query.to()) {
+                    break;
+                }
+                if (query.matches(history.idAt(row), history.typeAt(row), updateMillis)) {
+                    collected.add(history.materialize(userId, row));
+                }
+            }
+        }
+        return PointHistoryPage.of(collected, query.limit());
+    }
+
+    /**
+     * 저장된 행 하나가 컬럼 배열에서 차지하는 평균 바이트 수
+     * - 비교: PointHistory 객체는 행마다 약 48바이트에 리스트 참조가 더해진다.
+     */
+    public double bytesPerRow() {
+        long rowCount = rows.sum();
+        return rowCount == 0 ? 0 : (double) footprintBytes.sum() / rowCount;
+    }
+
+    /**
+     * 한 유저의 내역 청크 목록 (이 객체의 모니터 안에서만 접근한다)
+     * - 행 번호는 유저의 내역 전체에서 ID 순으로 매긴 번호이고, chunkStarts 로 행이 담긴 청크를 찾는다.
+     * - typeRows : 종류별로 그 종류의 행 번호를 오름차순으로 담는다.
+     * - timeOrdered : ID 순서대로 updateMillis 가 줄어들지 않는지 여부 (한 번 어긋나면 다시 true 가 되지 않는다)
+     */
+    private static final class UserHistory {
+
+        private static final int INITIAL_TYPE_ROWS = 4;
+
+        private final List<HistoryChunk> chunks = new ArrayList<>(1);
+        private int[] chunkStarts = new int[1];
+        private final int[][] typeRows = new int[TransactionType.values().length][];
+        private final int[] typeCounts = new int[TransactionType.values().length];
+        private int size;
+        private long lastUpdateMillis = Long.MIN_VALUE;
+        private boolean timeOrdered = true;
+
+        long append(long id, long amount, TransactionType type, long updateMillis) {
+            long grownBytes = 0;
+            HistoryChunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (last == null || !last.canAppend(updateMillis)) {
+                last = new HistoryChunk(updateMillis);
+                if (chunks.size() == chunkStarts.length) {
+                    chunkStarts = Arrays.copyOf(chunkStarts, chunkStarts.length * 2);
+                }
+                chunkStarts[chunks.size()] = size;
+                chunks.add(last);
+                grownBytes += HistoryChunk.initialFootprintBytes();
+            }
+            grownBytes += last.append(id, amount, type, updateMillis);
+            grownBytes += appendTypeRow(type.ordinal(), size);
+            if (updateMillis < lastUpdateMillis) {
+                timeOrdered = false;
+            }
+            lastUpdateMillis = updateMillis;
+            size++;
+            return grownBytes;
+        }
+
+        // 종류 조건이 없으면 전체 행, 있으면 그 종류의 행 수
+        int count(TransactionType type) {
+            return (type == null) ? size : typeCounts[type.ordinal()];
+        }
+
+        int rowAt(TransactionType type, int position) {
+            return (type == null) ? position : typeRows[type.ordinal()][position];
+        }
+
+        // 조건이 거짓 → 참 순서로 바뀌는 행들 중 조건이 처음 참이 되는 위치 (없으면 count)
+        int firstPosition(TransactionType type, IntPredicate condition) {
+            int low = 0;
+            int high = count(type);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (condition.test(rowAt(type, mid))) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        long idAt(int row) {
+            int chunk = chunkOf(row);
+            return chunks.get(chunk).idAt(row - chunkStarts[chunk]);
+        }
+
+        TransactionType typeAt(int row) {
+            int chunk = chunkOf(row);
+            return chunks.get(chunk).typeAt(row - chunkStarts[chunk]);
+        }
+
+        long updateMillisAt(int row) {
+            int chunk = chunkOf(row);
+            return chunks.get(chunk).updateMillisAt(row - chunkStarts[chunk]);
+        }
+
+        PointHistory materialize(long userId, int row) {
+            int chunk = chunkOf(row);
+            return chunks.get(chunk).materialize(userId, row - chunkStarts[chunk]);
+        }
+
+        // 행이 담긴 청크의 번호 (시작 행이 row 이하인 마지막 청크)
+        private int chunkOf(int row) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (chunkStarts[mid] <= row) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private long appendTypeRow(int ordinal, int row) {
+            long grownBytes = 0;
+            int[] rows = typeRows[ordinal];
+            if (rows == null) {
+                rows = new int[INITIAL_TYPE_ROWS];
+                grownBytes = (long) INITIAL_TYPE_ROWS * Integer.BYTES + 16;
+            } else if (typeCounts[ordinal] == rows.length) {
+                grownBytes = (long) rows.length * Integer.BYTES;
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[typeCounts[ordinal]++] = row;
+            typeRows[ordinal] = rows;
+            return grownBytes;
+        }
+    }
+}
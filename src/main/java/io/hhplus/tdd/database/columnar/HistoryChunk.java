@@ -0,0 +1,85 @@
+package io.hhplus.tdd.database.columnar;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * 한 유저의 포인트 이용 내역 일부를 컬럼별 원시 타입 배열로 담는 청크
+ * - 행마다 id(8) + amount(8) + type(1) + updateMillis 차이(4) = 21바이트만 쓴다. (userId 는 유저 단위로 한 번만 둔다)
+ * - updateMillis 는 청크의 첫 행 시각(baseMillis)과의 차이를 int 로 담는다. 차이가 int 범위를 넘으면 새 청크를 만든다.
+ * - 배열은 4행부터 두 배씩 늘려 MAX_ROWS 행까지 담는다. (내역이 적은 유저가 큰 배열을 차지하지 않도록)
+ * - 동기화하지 않으므로 UserHistory 의 락 안에서만 사용한다.
+ */
+final class HistoryChunk {
+
+    static final int MAX_ROWS = 1024;
+    private static final int INITIAL_ROWS = 4;
+    private static final int BYTES_PER_ROW = Long.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long baseMillis;
+    private long[] ids = new long[INITIAL_ROWS];
+    private long[] amounts = new long[INITIAL_ROWS];
+    private byte[] types = new byte[INITIAL_ROWS];
+    private int[] millisDeltas = new int[INITIAL_ROWS];
+    private int size;
+
+    HistoryChunk(long baseMillis) {
+        this.baseMillis = baseMillis;
+    }
+
+    boolean canAppend(long updateMillis) {
+        long delta = updateMillis - baseMillis;
+        return size < MAX_ROWS && Integer.MIN_VALUE <= delta && delta <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * 행을 추가하고, 배열을 늘렸다면 늘어난 바이트 수를 반환한다.
+     */
+    long append(long id, long amount, TransactionType type, long updateMillis) {
+        long grownBytes = 0;
+        if (size == ids.length) {
+            int capacity = Math.min(ids.length * 2, MAX_ROWS);
+            grownBytes = (long) (capacity - ids.length) * BYTES_PER_ROW;
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            millisDeltas = Arrays.copyOf(millisDeltas, capacity);
+        }
+        ids[size] = id;
+        amounts[size] = amount;
+        types[size] = (byte) type.ordinal();
+        millisDeltas[size] = (int) (updateMillis - baseMillis);
+        size++;
+        return grownBytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long idAt(int row) {
+        return ids[row];
+    }
+
+    TransactionType typeAt(int row) {
+        return TYPES[types[row]];
+    }
+
+    long updateMillisAt(int row) {
+        return baseMillis + millisDeltas[row];
+    }
+
+    PointHistory materialize(long userId, int row) {
+        return new PointHistory(ids[row], userId, amounts[row], typeAt(row), updateMillisAt(row));
+    }
+
+    /**
+     * 새 청크가 처음 차지하는 바이트 수 (배열 헤더와 청크 객체 포함 근사치)
+     */
+    static long initialFootprintBytes() {
+        return (long) INITIAL_ROWS * BYTES_PER_ROW + 4 * 16 + 48;
+    }
+}
@@ -0,0 +1,315 @@
+package io.hhplus.tdd.database.durable;
+
+import io.hhplus.tdd.database.primitive.LongBalanceMap;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 유저 포인트 저장소의 샤드 하나 (샤드마다 디렉터리 하나)
+ * - 잔액은 원시 타입 배열 기반 맵(LongBalanceMap)에 두고, 변경할 때마다 먼저 WAL(wal-{세대}.log)에 기록한다.
+ * - WAL 기록이 실패하면 마지막으로 온전히 쓴 위치까지 잘라내고, 자르지 못하면 새 세대의 WAL 로 넘어간다.
+ *   (끊긴 레코드가 남으면 재생이 거기서 멈춰 그 뒤의 기록이 모두 사라지기 때문)
+ * - 스냅샷(snapshot-{세대}.bin)은 해당 세대의 WAL 이 시작되기 직전의 전체 잔액이다.
+ *   복구는 가장 최근의 온전한 스냅샷을 읽고, 그 세대 이후의 WAL 을 순서대로 재생한다.
+ * - WAL 레코드: userId(8) | point(8) | updateMillis(8) | crc32c(4)
+ * - 스냅샷: count(8) | crc32c(4) | [userId(8) | point(8) | updateMillis(8)] * count
+ */
+final class BalanceShard implements Closeable {
+
+    static final int WAL_RECORD_SIZE = 28;
+    private static final int WAL_PAYLOAD_SIZE = 24;
+    private static final int SNAPSHOT_HEADER_SIZE = 12;
+    private static final int SNAPSHOT_RECORD_SIZE = 24;
+    private static final int SNAPSHOT_WRITE_CHUNK = 64 * 1024 / SNAPSHOT_RECORD_SIZE * SNAPSHOT_RECORD_SIZE;
+
+    private static final Pattern WAL_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteBuffer walBuffer = ByteBuffer.allocate(WAL_RECORD_SIZE);
+
+    // 아래 필드는 모두 이 샤드의 모니터(this) 안에서만 접근한다.
+    private LongBalanceMap balances = new LongBalanceMap(0);
+    private FileChannel wal;
+    private long walPosition;
+    private long generation;
+    private boolean dirty;
+
+    BalanceShard(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 스냅샷과 WAL 로 잔액을 복구하고, 새 세대의 WAL 을 연다.
+     * - 기록 도중 끊긴 WAL 꼬리는 CRC 가 맞지 않으므로 그 앞까지만 재생한다.
+     *   새 기록은 항상 새 세대의 WAL 에 하므로 끊긴 꼬리 뒤에 이어 쓰는 일은 없다.
+     *
+     * @return 복구한 유저 수
+     */
+    synchronized int recover() throws IOException {
+        Files.createDirectories(directory);
+
+        long snapshotGeneration = 0;
+        for (Long candidate : generations(SNAPSHOT_FILE).stream().sorted(Comparator.reverseOrder()).toList()) {
+            if (loadSnapshot(snapshotPath(candidate))) {
+                snapshotGeneration = candidate;
+                break;
+            }
+        }
+
+        long lastGeneration = snapshotGeneration;
+        for (Long walGeneration : generations(WAL_FILE).stream().sorted().toList()) {
+            Path walPath = walPath(walGeneration);
+            if (walGeneration >= snapshotGeneration) {
+                dirty |= replay(walPath) > 0;
+            }
+            lastGeneration = Math.max(lastGeneration, walGeneration);
+            // 변경 없이 재시작할 때마다 빈 WAL 이 쌓이지 않도록 지운다.
+            if (Files.size(walPath) == 0) {
+                Files.delete(walPath);
+            }
+        }
+
+        generation = lastGeneration + 1;
+        openWal();
+        return balances.size();
+    }
+
+    synchronized UserPoint get(long userId) {
+        int slot = balances.indexOf(userId);
+        return (slot < 0) ? null : new UserPoint(userId, balances.pointAt(slot), balances.updateMillisAt(slot));
+    }
+
+    /**
+     * WAL 에 먼저 기록한 뒤 잔액을 갱신한다. (WAL 기록이 실패하면 잔액은 바뀌지 않는다)
+     * - 쓰다 만 레코드는 물론, 다 썼지만 fsync 에 실패한 레코드도 잘라낸다. (실패로 응답한 변경이 재생되지 않도록)
+     */
+    synchronized UserPoint put(long userId, long point) throws IOException {
+        UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+
+        walBuffer.clear();
+        walBuffer.putLong(userId).putLong(point).putLong(userPoint.updateMillis());
+        CRC32C crc = new CRC32C();
+        crc.update(walBuffer.array(), 0, WAL_PAYLOAD_SIZE);
+        walBuffer.putInt((int) crc.getValue()).flip();
+        try {
+            writeFully(wal, walBuffer);
+            if (fsync) {
+                wal.force(false);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            discardFailedRecord(e);
+            throw e;
+        }
+        walPosition += WAL_RECORD_SIZE;
+
+        balances.put(userId, point, userPoint.updateMillis());
+        dirty = true;
+        return userPoint;
+    }
+
+    /**
+     * 현재 잔액으로 스냅샷을 남기고, 스냅샷에 포함된 이전 세대의 파일을 지운다.
+     * - 락 안에서는 잔액 복사와 WAL 세대 전환만 하고, 파일 쓰기는 락 밖에서 한다.
+     * - 임시 파일에 모두 쓴 뒤 이름을 바꾸므로, 쓰는 도중 죽어도 이전 스냅샷과 WAL 로 복구할 수 있다.
+     * - 스냅샷 쓰기가 실패하면 변경 표시를 되살려 다음 주기에 다시 남긴다. (이전 세대의 파일은 지우지 않았으므로 복구에는 문제없다)
+     */
+    void snapshot() throws IOException {
+        long[] userIds;
+        long[] points;
+        long[] updateMillis;
+        long snapshotGeneration;
+
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            userIds = new long[balances.size()];
+            points = new long[balances.size()];
+            updateMillis = new long[balances.size()];
+            int[] next = {0};
+            balances.forEach((userId, point, millis) -> {
+                userIds[next[0]] = userId;
+                points[next[0]] = point;
+                updateMillis[next[0]] = millis;
+                next[0]++;
+            });
+            wal.force(false);
+            wal.close();
+            snapshotGeneration = ++generation;
+            openWal();
+            dirty = false;
+        }
+
+        try {
+            writeSnapshot(snapshotGeneration, userIds, points, updateMillis);
+        } catch (IOException | RuntimeException | Error e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            throw e;
+        }
+        deleteBefore(snapshotGeneration);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (wal != null) {
+            wal.force(false);
+            wal.close();
+        }
+    }
+
+    private void openWal() throws IOException {
+        wal = FileChannel.open(walPath(generation), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        walPosition = 0;
+    }
+
+    /**
+     * 실패한 WAL 레코드를 지운다.
+     * - 마지막으로 온전히 쓴 위치까지 잘라내고, 자르지 못하면 현재 WAL 을 닫고 새 세대의 WAL 을 연다.
+     *   (이전 WAL 의 끊긴 꼬리는 재생이 거기서 멈추므로 무시되고, 이후 기록은 새 WAL 에서 재생된다)
+     * - 새 WAL 도 열지 못하면 다음 기록에서 다시 시도한다.
+     */
+    private void discardFailedRecord(Throwable failure) {
+        try {
+            wal.truncate(walPosition);
+            wal.position(walPosition);
+            return;
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            wal.close();
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            generation++;
+            openWal();
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private boolean loadSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SNAPSHOT_HEADER_SIZE) {
+                return false;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long count = buffer.getLong(0);
+            if (size != SNAPSHOT_HEADER_SIZE + count * SNAPSHOT_RECORD_SIZE) {
+                return false;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(SNAPSHOT_HEADER_SIZE, (int) (size - SNAPSHOT_HEADER_SIZE)));
+            if (buffer.getInt(8) != (int) crc.getValue()) {
+                return false;
+            }
+
+            LongBalanceMap loaded = new LongBalanceMap((int) count);
+            for (int offset = SNAPSHOT_HEADER_SIZE; offset < size; offset += SNAPSHOT_RECORD_SIZE) {
+                loaded.put(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+            }
+            balances = loaded;
+            return true;
+        }
+    }
+
+    private int replay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int replayed = 0;
+            for (int offset = 0; offset + WAL_RECORD_SIZE <= buffer.capacity(); offset += WAL_RECORD_SIZE) {
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.slice(offset, WAL_PAYLOAD_SIZE));
+                if (buffer.getInt(offset + WAL_PAYLOAD_SIZE) != (int) crc.getValue()) {
+                    break;
+                }
+                balances.put(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+                replayed++;
+            }
+            return replayed;
+        }
+    }
+
+    private void writeSnapshot(long snapshotGeneration, long[] userIds, long[] points, long[] updateMillis) throws IOException {
+        Path temporary = directory.resolve("snapshot-" + snapshotGeneration + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer chunk = ByteBuffer.allocate(SNAPSHOT_WRITE_CHUNK);
+            channel.position(SNAPSHOT_HEADER_SIZE);
+            for (int i = 0; i < userIds.length; i++) {
+                chunk.putLong(userIds[i]).putLong(points[i]).putLong(updateMillis[i]);
+                if (!chunk.hasRemaining() || i == userIds.length - 1) {
+                    chunk.flip();
+                    crc.update(chunk.duplicate());
+                    writeFully(channel, chunk);
+                    chunk.clear();
+                }
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE);
+            header.putLong(userIds.length).putInt((int) crc.getValue()).flip();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(true);
+        }
+        Files.move(temporary, snapshotPath(snapshotGeneration), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteBefore(long snapshotGeneration) throws IOException {
+        for (Long old : generations(SNAPSHOT_FILE)) {
+            if (old < snapshotGeneration) {
+                Files.deleteIfExists(snapshotPath(old));
+            }
+        }
+        for (Long old : generations(WAL_FILE)) {
+            if (old < snapshotGeneration) {
+                Files.deleteIfExists(walPath(old));
+            }
+        }
+    }
+
+    private List<Long> generations(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> pattern.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .toList();
+        }
+    }
+
+    private Path walPath(long walGeneration) {
+        return directory.resolve("wal-" + walGeneration + ".log");
+    }
+
+    private Path snapshotPath(long snapshotGeneration) {
+        return directory.resolve("snapshot-" + snapshotGeneration + ".bin");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
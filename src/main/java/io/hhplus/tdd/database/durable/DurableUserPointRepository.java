@@ -0,0 +1,150 @@
+package io.hhplus.tdd.database.durable;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 스냅샷 + WAL 기반 유저 포인트 저장소 (point.balance.store=durable)
+ * - 유저를 point.balance.durable.shards 개의 샤드로 나누고, 샤드마다 잔액 맵(LongBalanceMap)과 WAL, 스냅샷 파일을 따로 둔다.
+ * - 한 유저의 변경은 항상 같은 샤드의 WAL 에만 쌓이므로, 시작 시 샤드별로 병렬 복구해도 유저별 순서가 유지된다.
+ * - point.balance.durable.snapshot-interval-seconds 마다 변경된 샤드의 스냅샷을 남기고 이전 WAL 을 지워 복구 시간을 일정하게 유지한다.
+ * - 잔액을 모두 힙에 두므로 캐시(CachedUserPointRepository) 없이 바로 조회한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.balance.store", havingValue = "durable")
+public class DurableUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableUserPointRepository.class);
+
+    private final BalanceShard[] shards;
+    private final ScheduledExecutorService snapshotScheduler;
+
+    public DurableUserPointRepository(@Value("${point.balance.durable.directory:./data/user-point}") String directory,
+                                      @Value("${point.balance.durable.shards:64}") int shardCount,
+                                      @Value("${point.balance.durable.snapshot-interval-seconds:60}") long snapshotIntervalSeconds,
+                                      @Value("${point.balance.durable.fsync:false}") boolean fsync) {
+        Path root = Path.of(directory);
+        verifyShardCount(root, shardCount);
+
+        this.shards = new BalanceShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new BalanceShard(root.resolve(String.format("shard-%03d", i)), fsync);
+        }
+        recover();
+
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshot, snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = shard(id).get(id);
+        return (userPoint == null) ? UserPoint.empty(id) : userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        try {
+            return shard(id).put(id, amount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 변경을 WAL 에 기록하지 못했습니다. userId: " + id, e);
+        }
+    }
+
+    /**
+     * 변경된 샤드의 스냅샷을 남긴다. (실패한 샤드는 다음 주기에 다시 시도한다)
+     */
+    public void snapshot() {
+        for (BalanceShard shard : shards) {
+            try {
+                shard.snapshot();
+            } catch (IOException e) {
+                log.warn("유저 포인트 스냅샷을 남기지 못했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 주기적인 스냅샷을 멈추고, 마지막 스냅샷을 남긴 뒤 WAL 을 닫는다.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        snapshotScheduler.shutdown();
+        snapshotScheduler.awaitTermination(30, TimeUnit.SECONDS);
+        snapshot();
+        for (BalanceShard shard : shards) {
+            try {
+                shard.close();
+            } catch (IOException e) {
+                log.warn("유저 포인트 WAL 을 닫지 못했습니다.", e);
+            }
+        }
+    }
+
+    private void recover() {
+        long startedAt = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(shards.length, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Integer>> results = new ArrayList<>(shards.length);
+            for (BalanceShard shard : shards) {
+                results.add(executor.submit(shard::recover));
+            }
+            long users = 0;
+            for (Future<Integer> result : results) {
+                users += result.get();
+            }
+            log.info("유저 포인트 복구 완료: 유저 {} 명, {} ms", users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("유저 포인트를 복구하지 못했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("유저 포인트 복구 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // 유저가 어느 샤드에 속하는지는 샤드 수로 정해지므로, 기존 데이터와 샤드 수가 다르면 시작하지 않는다.
+    private static void verifyShardCount(Path root, int shardCount) {
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> files = Files.list(root)) {
+                long existing = files.filter(path -> path.getFileName().toString().startsWith("shard-")).count();
+                if (existing > 0 && existing != shardCount) {
+                    throw new IllegalStateException(String.format("기존 데이터의 샤드 수(%d)와 설정된 샤드 수(%d)가 다릅니다.", existing, shardCount));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("유저 포인트 저장소 디렉터리를 열 수 없습니다: " + root, e);
+        }
+    }
+
+    // 연속된 유저 ID 가 여러 샤드에 고르게 퍼지도록 섞은 뒤 샤드를 고른다.
+    private BalanceShard shard(long userId) {
+        return shards[(int) Math.floorMod((userId * 0x9E3779B97F4A7C15L) >>> 32, (long) shards.length)];
+    }
+}
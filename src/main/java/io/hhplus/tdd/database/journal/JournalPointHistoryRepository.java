@@ -0,0 +1,288 @@
+package io.hhplus.tdd.database.journal;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointSummaryAggregator;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * memory-mapped 저널 기반 포인트 이용 내역 저장소 (point.history.store=journal)
+ * - 내역을 세그먼트 파일에 고정 길이 레코드로 append 하므로 재시작해도 내역이 남고, 힙에는 유저별 레코드 위치(8바이트)만 둔다.
+ * - 세그먼트가 가득 차면 다음 세그먼트 파일로 넘어간다. (point.history.journal.segment-records)
+ * - 조회는 유저별 위치 인덱스로 해당 레코드만 매핑된 버퍼에서 바로 읽는다. (파일 read 호출이나 중간 복사 없음)
+ * - 페이지 조회는 종류 조건이 있으면 그 종류의 위치만 읽고, cursor 와 from 위치를 이진 탐색으로 찾아 to 를 지나면 멈춘다.
+ *   한 유저의 내역 시각이 ID 순서와 어긋난 적이 있으면 그 유저는 시간 조건을 한 건씩 확인한다.
+ * - 세그먼트 하나는 하나의 버퍼로 매핑하므로 segment-records * 40바이트가 2GB 를 넘으면 시작하지 않는다.
+ * - 시작 시 세그먼트를 순서대로 훑어 인덱스와 이용 요약을 다시 만들고, 기록 도중 끊긴 꼬리 레코드는 잘라낸다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.store", havingValue = "journal")
+public class JournalPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPointHistoryRepository.class);
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<Long, RecordPositions> index = new ConcurrentHashMap<>();
+    private final PointSummaryAggregator summaries = new PointSummaryAggregator();
+
+    // 쓰기 락: ID 채번, 레코드 기록, 세그먼트 전환, 인덱스 추가를 한 번에 묶는다. (메모리 복사뿐이라 짧다)
+    private final Object writeLock = new Object();
+    private JournalSegment active;
+    private long nextId = 1;
+
+    public JournalPointHistoryRepository(@Value("${point.history.journal.directory:./data/point-history}") String directory,
+                                         @Value("${point.history.journal.segment-records:1048576}") int segmentRecords) {
+        if (segmentRecords <= 0 || JournalSegment.MAX_RECORDS < segmentRecords) {
+            throw new IllegalArgumentException(String.format("point.history.journal.segment-records 는 1 이상 %d 이하여야 합니다.", JournalSegment.MAX_RECORDS));
+        }
+        this.directory = Path.of(directory);
+        this.segmentRecords = segmentRecords;
+        try {
+            Files.createDirectories(this.directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 이용 내역 저널을 열 수 없습니다: " + directory, e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long id;
+        synchronized (writeLock) {
+            if (active.isFull()) {
+                active = openSegment(active.number() + 1);
+            }
+            id = nextId++;
+            int slot = active.append(id, userId, amount, type, updateMillis);
+            index.computeIfAbsent(userId, key -> new RecordPositions()).add(position(active.number(), slot), type, updateMillis);
+        }
+        summaries.record(userId, amount, type, updateMillis);
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long[] positions = positionsOf(userId);
+        List<PointHistory> histories = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            histories.add(read(position));
+        }
+        return histories;
+    }
+
+    @Override
+    public PointSummary selectSummary(long userId) {
+        return summaries.get(userId);
+    }
+
+    @Override
+    public PointHistoryPage selectPage(long userId, PointHistoryQuery query) {
+        RecordPositions positions = index.get(userId);
+        if (positions == null) {
+            return new PointHistoryPage(List.of(), null);
+        }
+
+        List<PointHistory> collected = new ArrayList<>();
+        synchronized (positions) {
+            TransactionType type = query.type();
+            int count = positions.count(type);
+            int i = (query.cursor() == null) ? 0 : positions.firstIndex(type, position -> idAt(position) > query.cursor());
+            if (positions.timeOrdered && query.from() != null) {
+                i = Math.max(i, positions.firstIndex(type, position -> updateMillisAt(position) >= query.from()));
+            }
+            for (; i < count && collected.size() <= query.limit(); i++) {
+                PointHistory pointHistory = read(positions.positionAt(type, i));
+                if (positions.timeOrdered && query.to() != null && pointHistory.updateMillis() > query.to()) {
+                    break;
+                }
+                if (query.matches(pointHistory)) {
+                    collected.add(pointHistory);
+                }
+            }
+        }
+        return PointHistoryPage.of(collected, query.limit());
+    }
+
+    /**
+     * 모든 세그먼트를 디스크에 기록하고 닫는다.
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            for (JournalSegment segment : segments) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    log.warn("저널 세그먼트를 닫지 못했습니다: {}", segment.path(), e);
+                }
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (int number = 0; number < files.size(); number++) {
+            Path file = files.get(number);
+            if (!file.equals(segmentPath(number))) {
+                throw new IllegalStateException("저널 세그먼트 번호가 연속되지 않습니다: " + file);
+            }
+            JournalSegment segment = JournalSegment.open(number, file, segmentRecords);
+            int valid = segment.recover(nextId);
+            segments.add(segment);
+            for (int slot = 0; slot < valid; slot++) {
+                PointHistory recovered = segment.read(slot);
+                index.computeIfAbsent(recovered.userId(), key -> new RecordPositions()).add(position(number, slot), recovered.type(), recovered.updateMillis());
+                summaries.record(recovered.userId(), recovered.amount(), recovered.type(), recovered.updateMillis());
+            }
+            nextId += valid;
+
+            // 세그먼트 중간에서 끊겼다면 그 뒤의 세그먼트는 이어지지 않으므로 버린다.
+            if (!segment.isFull() && number < files.size() - 1) {
+                log.warn("저널 세그먼트 {} 이후의 세그먼트 {} 개를 버립니다.", file, files.size() - number - 1);
+                for (Path dropped : files.subList(number + 1, files.size())) {
+                    Files.delete(dropped);
+                }
+                break;
+            }
+        }
+
+        active = segments.isEmpty() ? openSegment(0) : segments.get(segments.size() - 1);
+        log.info("포인트 이용 내역 저널 복구 완료: 세그먼트 {} 개, 내역 {} 건", segments.size(), nextId - 1);
+    }
+
+    private JournalSegment openSegment(int number) {
+        try {
+            JournalSegment segment = JournalSegment.open(number, segmentPath(number), segmentRecords);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다: " + segmentPath(number), e);
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%08d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private long[] positionsOf(long userId) {
+        RecordPositions positions = index.get(userId);
+        return (positions == null) ? new long[0] : positions.snapshot();
+    }
+
+    private PointHistory read(long position) {
+        return segments.get(segmentOf(position)).read(slotOf(position));
+    }
+
+    private long idAt(long position) {
+        return segments.get(segmentOf(position)).idAt(slotOf(position));
+    }
+
+    private long updateMillisAt(long position) {
+        return segments.get(segmentOf(position)).updateMillisAt(slotOf(position));
+    }
+
+    private static long position(int segmentNumber, int slot) {
+        return ((long) segmentNumber << 32) | slot;
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int slotOf(long position) {
+        return (int) position;
+    }
+
+    /**
+     * 유저 한 명의 레코드 위치 목록 (ID 순, 쓰기 락 안에서만 추가된다)
+     * - typeIndexes : 종류별로 그 종류의 레코드가 positions 의 몇 번째인지를 오름차순으로 담는다.
+     * - timeOrdered : ID 순서대로 updateMillis 가 줄어들지 않는지 여부 (한 번 어긋나면 다시 true 가 되지 않는다)
+     */
+    private static final class RecordPositions {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] positions = new long[INITIAL_CAPACITY];
+        private int size;
+        private final int[][] typeIndexes = new int[TransactionType.values().length][];
+        private final int[] typeCounts = new int[TransactionType.values().length];
+        private long lastUpdateMillis = Long.MIN_VALUE;
+        private boolean timeOrdered = true;
+
+        synchronized void add(long position, TransactionType type, long updateMillis) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            int ordinal = type.ordinal();
+            int[] indexes = typeIndexes[ordinal];
+            if (indexes == null) {
+                indexes = new int[INITIAL_CAPACITY];
+            } else if (typeCounts[ordinal] == indexes.length) {
+                indexes = Arrays.copyOf(indexes, indexes.length * 2);
+            }
+            indexes[typeCounts[ordinal]++] = size;
+            typeIndexes[ordinal] = indexes;
+            if (updateMillis < lastUpdateMillis) {
+                timeOrdered = false;
+            }
+            lastUpdateMillis = updateMillis;
+            positions[size++] = position;
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(positions, size);
+        }
+
+        // 종류 조건이 없으면 전체 레코드, 있으면 그 종류의 레코드 수
+        int count(TransactionType type) {
+            return (type == null) ? size : typeCounts[type.ordinal()];
+        }
+
+        long positionAt(TransactionType type, int i) {
+            return positions[(type == null) ? i : typeIndexes[type.ordinal()][i]];
+        }
+
+        // 조건이 거짓 → 참 순서로 바뀌는 레코드들 중 조건이 처음 참이 되는 순번 (없으면 count)
+        int firstIndex(TransactionType type, LongPredicate condition) {
+            int low = 0;
+            int high = count(type);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (condition.test(positionAt(type, mid))) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
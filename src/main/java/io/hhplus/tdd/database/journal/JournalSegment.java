@@ -0,0 +1,176 @@
+package io.hhplus.tdd.database.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 이용 내역 저널의 세그먼트 파일 하나
+ * - 파일 전체를 미리 할당해 memory-map 하고, 고정 길이(40바이트) 레코드를 차례로 기록한다.
+ * - 레코드 구조: id(8) | userId(8) | amount(8) | updateMillis(8) | type(1) | padding(3) | crc32c(4)
+ * - CRC 는 마지막에 기록하므로, 기록 도중 프로세스가 죽은 레코드는 CRC 가 맞지 않아 복구 시 걸러진다.
+ * - 파일 하나를 하나의 MappedByteBuffer 로 매핑하므로 한 세그먼트에는 MAX_RECORDS 건까지 담는다. (오프셋을 int 로 계산해도 넘치지 않음)
+ * - 쓰기는 JournalPointHistoryRepository 의 쓰기 락 안에서만 하고, 읽기는 절대 위치 get 만 사용하므로 버퍼의 position 을 공유하지 않는다.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 40;
+    static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private static final int USER_ID_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int UPDATE_MILLIS_OFFSET = 24;
+    private static final int TYPE_OFFSET = 32;
+    private static final int CRC_OFFSET = 36;
+
+    private final int number;
+    private final Path path;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int recordCount;
+
+    private JournalSegment(int number, Path path, RandomAccessFile file, MappedByteBuffer buffer, int capacity) {
+        this.number = number;
+        this.path = path;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 세그먼트 파일을 열어 memory-map 한다. (파일이 없으면 capacity 건 크기로 만든다)
+     */
+    static JournalSegment open(int number, Path path, int capacity) throws IOException {
+        if (capacity <= 0 || MAX_RECORDS < capacity) {
+            throw new IllegalArgumentException(String.format("세그먼트 레코드 수는 1 이상 %d 이하여야 합니다: %d", MAX_RECORDS, capacity));
+        }
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            long size = (long) capacity * RECORD_SIZE;
+            if (file.length() < size) {
+                file.setLength(size);
+            }
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new JournalSegment(number, path, file, buffer, capacity);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 앞에서부터 유효한 레코드를 세고, 처음으로 유효하지 않은 레코드부터 뒤는 잘라낸다.
+     * - 유효한 레코드: CRC 가 맞고 ID 가 직전 레코드의 다음 번호인 레코드
+     * - 잘라낸 영역은 0 으로 채워 다음 기록 위치가 빈 레코드로 시작하도록 한다.
+     *
+     * @return 유효한 레코드 수
+     */
+    int recover(long expectedFirstId) {
+        int slot = 0;
+        while (slot < capacity && idAt(slot) == expectedFirstId + slot && crcMatches(slot)) {
+            slot++;
+        }
+        recordCount = slot;
+        for (int torn = slot; torn < capacity && !isEmpty(torn); torn++) {
+            clear(torn);
+        }
+        return recordCount;
+    }
+
+    /**
+     * 다음 위치에 레코드를 기록하고 그 위치(slot)를 반환한다.
+     */
+    int append(long id, long userId, long amount, TransactionType type, long updateMillis) {
+        int slot = recordCount;
+        int offset = slot * RECORD_SIZE;
+        buffer.putLong(offset, id);
+        buffer.putLong(offset + USER_ID_OFFSET, userId);
+        buffer.putLong(offset + AMOUNT_OFFSET, amount);
+        buffer.putLong(offset + UPDATE_MILLIS_OFFSET, updateMillis);
+        buffer.put(offset + TYPE_OFFSET, (byte) type.ordinal());
+        buffer.putInt(offset + CRC_OFFSET, crc(slot));
+        recordCount++;
+        return slot;
+    }
+
+    long idAt(int slot) {
+        return buffer.getLong(slot * RECORD_SIZE);
+    }
+
+    PointHistory read(int slot) {
+        int offset = slot * RECORD_SIZE;
+        return new PointHistory(
+                buffer.getLong(offset),
+                buffer.getLong(offset + USER_ID_OFFSET),
+                buffer.getLong(offset + AMOUNT_OFFSET),
+                TransactionType.values()[buffer.get(offset + TYPE_OFFSET)],
+                buffer.getLong(offset + UPDATE_MILLIS_OFFSET)
+        );
+    }
+
+    long updateMillisAt(int slot) {
+        return buffer.getLong(slot * RECORD_SIZE + UPDATE_MILLIS_OFFSET);
+    }
+
+    boolean isFull() {
+        return recordCount == capacity;
+    }
+
+    int number() {
+        return number;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 페이지 캐시에 있는 변경 내용을 디스크에 기록한다.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        file.close();
+    }
+
+    private boolean crcMatches(int slot) {
+        return buffer.getInt(slot * RECORD_SIZE + CRC_OFFSET) == crc(slot);
+    }
+
+    private int crc(int slot) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(slot * RECORD_SIZE, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private boolean isEmpty(int slot) {
+        int offset = slot * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear(int slot) {
+        buffer.put(slot * RECORD_SIZE, ByteBuffer.allocate(RECORD_SIZE), 0, RECORD_SIZE);
+    }
+}
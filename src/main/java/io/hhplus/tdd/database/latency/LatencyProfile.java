@@ -0,0 +1,102 @@
+package io.hhplus.tdd.database.latency;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블 호출 한 번에 주입할 지연 시간 모델
+ * - baseMillis 는 호출 지점별 기준 지연 시간이다. (selectById 200ms, insertOrUpdate / insert 300ms)
+ * - 난수는 (seed, 호출 순번) 으로부터 결정되므로 같은 seed 로 같은 순서의 호출을 하면 같은 지연 시간이 나온다.
+ */
+@FunctionalInterface
+public interface LatencyProfile {
+
+    long nextDelayNanos(long baseMillis);
+
+    /**
+     * 지연 없음 (단위 테스트, 동시성 제어 자체의 비용 측정)
+     */
+    static LatencyProfile zero() {
+        return baseMillis -> 0L;
+    }
+
+    /**
+     * 항상 baseMillis * scale 만큼 지연
+     */
+    static LatencyProfile fixed(double scale) {
+        return baseMillis -> toNanos(baseMillis * scale);
+    }
+
+    /**
+     * 0 ~ baseMillis * scale 사이 균등 분포 (기존 Math.random() * millis 와 같은 분포)
+     */
+    static LatencyProfile uniform(long seed, double scale) {
+        SeededRandom random = new SeededRandom(seed);
+        return baseMillis -> toNanos(random.nextDouble() * baseMillis * scale);
+    }
+
+    /**
+     * 중앙값이 baseMillis * scale / 2 인 로그 정규 분포
+     * - sigma 가 클수록 꼬리가 길어진다. (sigma 1.0 이면 p99 가 중앙값의 약 10배)
+     */
+    static LatencyProfile logNormal(long seed, double scale, double sigma) {
+        if (sigma <= 0) {
+            throw new IllegalArgumentException("로그 정규 분포의 sigma 는 0보다 커야 합니다.");
+        }
+        SeededRandom random = new SeededRandom(seed);
+        return baseMillis -> toNanos(baseMillis * scale / 2 * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    /**
+     * 실제 저장소에서 기록한 지연 시간(ms)을 순서대로 반복 재생
+     * - 기록된 값에는 호출 지점별 기준 지연 시간이 이미 반영되어 있으므로 baseMillis 는 사용하지 않는다.
+     */
+    static LatencyProfile trace(List<Double> samplesMillis, double scale) {
+        if (samplesMillis.isEmpty()) {
+            throw new IllegalArgumentException("재생할 지연 시간 기록이 비어 있습니다.");
+        }
+        long[] samples = samplesMillis.stream().mapToLong(sample -> toNanos(sample * scale)).toArray();
+        AtomicLong sequence = new AtomicLong();
+        return baseMillis -> samples[(int) Math.floorMod(sequence.getAndIncrement(), (long) samples.length)];
+    }
+
+    private static long toNanos(double millis) {
+        return Math.max(0L, (long) (millis * 1_000_000));
+    }
+
+    /**
+     * 호출 순번을 SplitMix64 로 섞어 난수를 만든다.
+     * - 공유 Random 처럼 락을 잡지 않고, 순번이 같으면 항상 같은 값이 나온다.
+     */
+    final class SeededRandom {
+
+        private final long seed;
+        private final AtomicLong sequence = new AtomicLong();
+
+        SeededRandom(long seed) {
+            this.seed = seed;
+        }
+
+        double nextDouble() {
+            return toUnit(mix(seed + sequence.getAndIncrement() * 0x9E3779B97F4A7C15L));
+        }
+
+        // Box-Muller 변환
+        double nextGaussian() {
+            long z = mix(seed + sequence.getAndIncrement() * 0x9E3779B97F4A7C15L);
+            double u1 = toUnit(z);
+            double u2 = toUnit(mix(z));
+            return Math.sqrt(-2 * Math.log(1 - u1)) * Math.cos(2 * Math.PI * u2);
+        }
+
+        private static double toUnit(long bits) {
+            return (bits >>> 11) * 0x1.0p-53;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.database.latency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * point.table.latency 설정으로 테이블 지연 시간 모델을 만든다.
+ */
+@Configuration
+public class LatencyProfileConfig {
+
+    @Bean
+    public LatencyProfile latencyProfile(@Value("${point.table.latency.profile:uniform}") String profile,
+                                         @Value("${point.table.latency.seed:0}") long seed,
+                                         @Value("${point.table.latency.scale:1.0}") double scale,
+                                         @Value("${point.table.latency.log-normal-sigma:1.0}") double sigma,
+                                         @Value("${point.table.latency.trace-file:}") String traceFile) {
+        return switch (profile) {
+            case "zero" -> LatencyProfile.zero();
+            case "fixed" -> LatencyProfile.fixed(scale);
+            case "uniform" -> LatencyProfile.uniform(seed, scale);
+            case "log-normal" -> LatencyProfile.logNormal(seed, scale, sigma);
+            case "trace" -> LatencyProfile.trace(readTrace(traceFile), scale);
+            default -> throw new IllegalArgumentException("지원하지 않는 지연 시간 모델입니다: " + profile);
+        };
+    }
+
+    /**
+     * 한 줄에 지연 시간(ms) 하나씩 기록된 파일을 읽는다. (빈 줄과 # 주석은 무시)
+     */
+    static List<Double> readTrace(String traceFile) {
+        if (traceFile.isBlank()) {
+            throw new IllegalArgumentException("trace 모델은 point.table.latency.trace-file 설정이 필요합니다.");
+        }
+        try {
+            return Files.readAllLines(Path.of(traceFile)).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(Double::parseDouble)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("지연 시간 기록 파일을 읽을 수 없습니다: " + traceFile, e);
+        }
+    }
+}
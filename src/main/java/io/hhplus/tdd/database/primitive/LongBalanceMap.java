@@ -0,0 +1,159 @@
+package io.hhplus.tdd.database.primitive;
+
+/**
+ * 유저 ID(long) → (point, updateMillis) open addressing 해시 맵
+ * - 키와 값을 원시 타입 배열 3개에 나눠 담아 엔트리마다 Long, UserPoint, 해시 노드 객체를 만들지 않는다.
+ *   (적재율 0.75 기준 유저당 약 32 ~ 48바이트, 조회/갱신 시 할당 없음)
+ * - 선형 탐사를 사용하고, 적재율이 0.75 를 넘으면 두 배로 늘린다. 포인트는 지우지 않으므로 삭제는 지원하지 않는다.
+ * - 배열 크기는 2^30 까지만 늘리고, 그보다 커져야 하면 새 키를 넣지 않고 예외를 던진다. (두 배로 늘리면 int 범위를 넘음)
+ * - 빈 슬롯을 키 0 으로 표시하므로, 키 0 은 배열 마지막의 전용 슬롯에 따로 둔다.
+ * - 동기화하지 않으므로 호출하는 쪽에서 락을 잡아야 한다.
+ */
+public final class LongBalanceMap {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private long[] points;
+    private long[] updateMillis;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+    private boolean hasZeroKey;
+
+    public LongBalanceMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * 키가 저장된 슬롯 번호, 없으면 -1
+     */
+    public int indexOf(long key) {
+        if (key == 0L) {
+            return hasZeroKey ? zeroSlot() : -1;
+        }
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == 0L) {
+                return -1;
+            }
+        }
+    }
+
+    public long pointAt(int slot) {
+        return points[slot];
+    }
+
+    public long updateMillisAt(int slot) {
+        return updateMillis[slot];
+    }
+
+    public void put(long key, long point, long millis) {
+        int slot = (key == 0L) ? zeroSlot() : probe(key);
+        boolean added = (key == 0L) ? !hasZeroKey : keys[slot] == 0L;
+        // 늘리지 못하면 맵을 바꾸기 전에 실패하도록 넣기 전에 늘린다.
+        if (added && size + 1 > resizeThreshold) {
+            resize();
+            slot = (key == 0L) ? zeroSlot() : probe(key);
+        }
+        keys[slot] = key;
+        points[slot] = point;
+        updateMillis[slot] = millis;
+        if (added) {
+            hasZeroKey |= key == 0L;
+            size++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 저장된 모든 엔트리를 순서 없이 순회한다.
+     */
+    public void forEach(BalanceConsumer consumer) {
+        for (int slot = 0; slot < zeroSlot(); slot++) {
+            if (keys[slot] != 0L) {
+                consumer.accept(keys[slot], points[slot], updateMillis[slot]);
+            }
+        }
+        if (hasZeroKey) {
+            consumer.accept(0L, points[zeroSlot()], updateMillis[zeroSlot()]);
+        }
+    }
+
+    /**
+     * 배열이 차지하는 메모리 (바이트)
+     */
+    public long footprintBytes() {
+        return 3L * Long.BYTES * keys.length;
+    }
+
+    @FunctionalInterface
+    public interface BalanceConsumer {
+        void accept(long key, long point, long updateMillis);
+    }
+
+    // 키가 있으면 그 슬롯, 없으면 들어갈 빈 슬롯
+    private int probe(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0L && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldPoints = points;
+        long[] oldUpdateMillis = updateMillis;
+        int oldZeroSlot = zeroSlot();
+        if (mask + 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("LongBalanceMap 이 담을 수 있는 크기를 넘었습니다: " + (size + 1));
+        }
+
+        allocate((mask + 1) * 2);
+        for (int slot = 0; slot < oldZeroSlot; slot++) {
+            if (oldKeys[slot] != 0L) {
+                int target = probe(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                points[target] = oldPoints[slot];
+                updateMillis[target] = oldUpdateMillis[slot];
+            }
+        }
+        points[zeroSlot()] = oldPoints[oldZeroSlot];
+        updateMillis[zeroSlot()] = oldUpdateMillis[oldZeroSlot];
+    }
+
+    private void allocate(int capacity) {
+        // 마지막 칸은 키 0 전용 슬롯
+        keys = new long[capacity + 1];
+        points = new long[capacity + 1];
+        updateMillis = new long[capacity + 1];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int zeroSlot() {
+        return mask + 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("LongBalanceMap 이 담을 수 있는 크기를 넘었습니다: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.database.primitive;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 원시 타입 배열 기반 유저 포인트 저장소 (point.balance.store=primitive)
+ * - 유저를 point.balance.primitive.segments 개의 세그먼트로 나누고, 세그먼트마다 LongBalanceMap 하나와 락 하나를 둔다.
+ * - 갱신 경로에서는 맵 자체가 객체를 만들지 않는다. (반환하는 UserPoint 만 인터페이스 규약상 새로 만든다)
+ * - 메모리 저장소(ConcurrentUserPointRepository 의 ConcurrentHashMap<Long, UserPoint>)와 달리 유저 수가 늘어도 GC 가 훑어야 할 객체 수가 늘지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.balance.store", havingValue = "primitive")
+public class PrimitiveUserPointRepository implements UserPointRepository {
+
+    private final LongBalanceMap[] segments;
+
+    public PrimitiveUserPointRepository(@Value("${point.balance.primitive.segments:64}") int segmentCount,
+                                        @Value("${point.balance.primitive.expected-users:1000000}") int expectedUsers) {
+        this.segments = new LongBalanceMap[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new LongBalanceMap(expectedUsers / segmentCount);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        LongBalanceMap segment = segment(id);
+        synchronized (segment) {
+            int slot = segment.indexOf(id);
+            return (slot < 0) ? UserPoint.empty(id) : new UserPoint(id, segment.pointAt(slot), segment.updateMillisAt(slot));
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        LongBalanceMap segment = segment(id);
+        synchronized (segment) {
+            segment.put(id, amount, updateMillis);
+        }
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    /**
+     * 전체 세그먼트 배열이 차지하는 메모리 (바이트)
+     */
+    public long footprintBytes() {
+        long total = 0;
+        for (LongBalanceMap segment : segments) {
+            synchronized (segment) {
+                total += segment.footprintBytes();
+            }
+        }
+        return total;
+    }
+
+    private LongBalanceMap segment(long userId) {
+        return segments[(int) Math.floorMod((userId * 0x9E3779B97F4A7C15L) >>> 32, (long) segments.length)];
+    }
+}
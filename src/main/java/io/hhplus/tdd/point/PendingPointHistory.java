@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 아직 저장되지 않은 포인트 이용 내역 한 건 (ID 는 저장할 때 정해진다)
+ */
+public record PendingPointHistory(
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전/사용 요청 한 건의 처리 결과
+ * - index : 요청 목록에서의 위치
+ * - 성공하면 반영된 포인트(point)를, 실패하면 실패 사유(message)를 담는다.
+ */
+public record PointBulkResult(
+        int index,
+        long userId,
+        boolean success,
+        Long point,
+        String message
+) {
+
+    public static PointBulkResult success(int index, UserPoint userPoint) {
+        return new PointBulkResult(index, userPoint.id(), true, userPoint.point(), null);
+    }
+
+    public static PointBulkResult failure(int index, long userId, String message) {
+        return new PointBulkResult(index, userId, false, null, message);
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.PointAdmissionController;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.common.Constants.MAX_BULK_ITEMS;
+
+/**
+ * 여러 유저에 대한 충전/사용 일괄 처리
+ * - 서로 다른 유저의 요청은 point.bulk.parallelism 개의 스레드에서 병렬로 처리한다.
+ * - 동일 유저의 요청은 앞선 요청이 끝난 뒤에 처리되므로 요청 목록의 순서가 유지된다.
+ * - 일괄 요청 전체가 전체 처리 한도(PointAdmissionController.admitBulk)를 한 번만 차지하고, 항목은 PointService 에서 한 건씩 유저별 한도를 거친다.
+ *   유저별 한도를 넘은 항목은 그 항목만 실패로 돌려준다.
+ * - 한 건이 실패해도 나머지 요청은 계속 처리하고, 요청마다 성공/실패 결과를 돌려준다.
+ * - 응답 대기 시간은 요청 건수에 맞춰 timeoutMillis 로 정한다. (건수가 많으면 기본 비동기 응답 시간 30초를 넘기므로)
+ */
+@Service
+public class PointBulkService {
+
+    private final PointService pointService;
+    private final PointAdmissionController pointAdmissionController;
+    private final int parallelism;
+    private final long itemTimeoutMillis;
+    private final ExecutorService executor;
+
+    public PointBulkService(PointService pointService, PointAdmissionController pointAdmissionController,
+                            @Value("${point.bulk.parallelism:32}") int parallelism,
+                            @Value("${point.bulk.item-timeout-millis:1000}") long itemTimeoutMillis) {
+        this.pointService = pointService;
+        this.pointAdmissionController = pointAdmissionController;
+        this.parallelism = parallelism;
+        this.itemTimeoutMillis = itemTimeoutMillis;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * 일괄 충전/사용 요청을 처리하고, 요청 순서대로 결과를 반환한다.
+     * - 한 번에 처리할 수 있는 요청 수는 MAX_BULK_ITEMS 건까지다.
+     * - 전체 동시 처리 한도를 넘었으면 항목을 처리하지 않고 AdmissionRejectedException 을 던진다.
+     */
+    public CompletableFuture<List<PointBulkResult>> process(List<PointBulkItem> items) {
+        validate(items);
+        PointAdmissionController.Permit permit = pointAdmissionController.admitBulk();
+
+        PointBulkResult[] results = new PointBulkResult[items.size()];
+        Map<Long, CompletableFuture<Void>> userChains = new HashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            PointBulkItem item = items.get(i);
+
+            // 유저별로 이전 요청의 Future 뒤에 이어 붙여 순서를 유지한다.
+            CompletableFuture<Void> previous = userChains.getOrDefault(item.userId(), CompletableFuture.completedFuture(null));
+            userChains.put(item.userId(), previous
+                    .thenComposeAsync(ignored -> apply(item), executor)
+                    .handle((userPoint, throwable) -> {
+                        results[index] = (throwable == null)
+                                ? PointBulkResult.success(index, userPoint)
+                                : PointBulkResult.failure(index, item.userId(), unwrap(throwable).getMessage());
+                        return null;
+                    }));
+        }
+
+        return CompletableFuture.allOf(userChains.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> pointAdmissionController.release(permit, throwable == null))
+                .thenApply(ignored -> Arrays.asList(results));
+    }
+
+    /**
+     * 일괄 요청을 모두 처리할 때까지 기다릴 최대 시간
+     * - 요청 한 건의 최대 처리 시간(point.bulk.item-timeout-millis)에 차례대로 처리해야 하는 건수를 곱한다.
+     * - 서로 다른 유저는 parallelism 건씩 동시에, 동일 유저는 한 건씩 처리되므로 둘 중 큰 쪽을 따른다.
+     */
+    public long timeoutMillis(List<PointBulkItem> items) {
+        validate(items);
+        Map<Long, Integer> perUser = new HashMap<>();
+        int longestChain = 0;
+        for (PointBulkItem item : items) {
+            longestChain = Math.max(longestChain, perUser.merge(item.userId(), 1, Integer::sum));
+        }
+        long rounds = Math.max((items.size() + parallelism - 1) / parallelism, longestChain);
+        return rounds * itemTimeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void validate(List<PointBulkItem> items) {
+        if (items == null || items.isEmpty() || MAX_BULK_ITEMS < items.size()) {
+            throw new IllegalArgumentException(String.format("일괄 요청은 1건 이상 %d건 이하여야 합니다.", MAX_BULK_ITEMS));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == null) {
+                throw new IllegalArgumentException(String.format("일괄 요청의 %d번째 항목이 비어 있습니다.", i));
+            }
+        }
+    }
+
+    private CompletableFuture<UserPoint> apply(PointBulkItem item) {
+        if (item.type() == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("충전/사용 구분(type)은 필수입니다."));
+        }
+        return pointService.applyBulkItemAsync(item.userId(), item.amount(), item.type());
+    }
+
+    private Throwable unwrap(Throwable throwable) {
+        return (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+    }
+}
@@ -1,11 +1,26 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.idempotency.IdempotentRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static io.hhplus.tdd.common.Constants.MAX_HISTORY_PAGE_SIZE;
 
 @RestController
 @RequestMapping("/point")
@@ -13,11 +28,22 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 100;
+
     private final PointService pointService;
+    private final PointBulkService pointBulkService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache idempotencyCache;
 
     @Autowired
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, PointBulkService pointBulkService, ObjectMapper objectMapper,
+                           IdempotencyCache idempotencyCache) {
         this.pointService = pointService;
+        this.pointBulkService = pointBulkService;
+        this.objectMapper = objectMapper;
+        this.idempotencyCache = idempotencyCache;
     }
 
     /**
@@ -32,33 +58,135 @@ public class PointController {
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - 조회 조건이 없으면 전체 내역을 반환한다.
+     * - cursor, from, to, type, limit 중 하나라도 있으면 한 페이지만 반환하고,
+     *   다음 페이지가 있으면 X-Next-Cursor 헤더로 다음 cursor 를 알려준다. (limit 기본값: 100)
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public ResponseEntity<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (cursor == null && from == null && to == null && type == null && limit == null) {
+            return ResponseEntity.ok(pointService.getHistories(id));
+        }
+
+        PointHistoryQuery query = new PointHistoryQuery(cursor, from, to, type, limit == null ? DEFAULT_HISTORY_PAGE_SIZE : limit);
+        PointHistoryPage page = pointService.getHistoryPage(id, query);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.histories());
+    }
+
+    /**
+     * 특정 유저의 포인트 이용 요약(충전/사용 합계와 건수, 마지막 이용 시각)을 조회한다.
+     * - 이용 내역 전체를 읽지 않고 미리 집계해 둔 값을 돌려준다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.getHistories(id);
+        return pointService.getSummary(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 이용 내역 전체를 NDJSON(한 줄에 내역 하나)으로 내려준다.
+     * - 내역을 페이지 단위로 읽어 바로 쓰므로, 내역 수와 상관없이 메모리 사용량이 일정하다.
+     * - after 를 주면 해당 ID 이후의 내역부터 내려주므로, 중단된 지점부터 이어받을 수 있다.
+     */
+    @GetMapping(value = "{id}/histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportHistories(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after
+    ) {
+        return outputStream -> writeHistories(id, after, outputStream);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - 처리 결과를 DeferredResult 로 반환해 처리되는 동안 요청 스레드를 붙잡지 않는다.
+     * - Idempotency-Key 헤더가 있으면 같은 유저의 같은 키 재시도에는 처음 요청의 결과를 그대로 돌려준다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public DeferredResult<UserPoint> charge(
             @PathVariable long id,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody long amount
     ) {
-        return pointService.chargePoint(id, amount);
+        return toDeferredResult(idempotent(idempotencyKey, new IdempotentRequest(id, TransactionType.CHARGE, amount),
+                () -> pointService.chargePointAsync(id, amount)));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - 처리 결과를 DeferredResult 로 반환해 처리되는 동안 요청 스레드를 붙잡지 않는다.
+     * - Idempotency-Key 헤더가 있으면 같은 유저의 같은 키 재시도에는 처음 요청의 결과를 그대로 돌려준다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public DeferredResult<UserPoint> use(
             @PathVariable long id,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody long amount
     ) {
-        return pointService.usePoint(id, amount);
+        return toDeferredResult(idempotent(idempotencyKey, new IdempotentRequest(id, TransactionType.USE, amount),
+                () -> pointService.usePointAsync(id, amount)));
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용한다.
+     * - 서로 다른 유저는 병렬로, 동일 유저는 요청 순서대로 처리한다.
+     * - 일부 요청이 실패해도 전체를 중단하지 않고, 요청마다 성공(포인트) 또는 실패(사유) 결과를 돌려준다.
+     * - 응답 대기 시간은 요청 건수에 맞춰 늘린다. (PointBulkService.timeoutMillis)
+     */
+    @PostMapping("bulk")
+    public DeferredResult<List<PointBulkResult>> bulk(
+            @RequestBody List<PointBulkItem> items
+    ) {
+        long timeoutMillis = pointBulkService.timeoutMillis(items);
+        return toDeferredResult(pointBulkService.process(items), timeoutMillis);
+    }
+
+    private CompletableFuture<UserPoint> idempotent(String idempotencyKey, IdempotentRequest request,
+                                                    Supplier<CompletableFuture<UserPoint>> action) {
+        return (idempotencyKey == null) ? action.get() : idempotencyCache.execute(idempotencyKey, request, action);
+    }
+
+    private <T> DeferredResult<T> toDeferredResult(CompletableFuture<T> future) {
+        return toDeferredResult(future, null);
+    }
+
+    // 예외로 완료되면 원인 예외를 그대로 넘겨 ApiControllerAdvice 에서 처리되도록 한다. (timeoutMillis 가 null 이면 기본 비동기 응답 시간)
+    private <T> DeferredResult<T> toDeferredResult(CompletableFuture<T> future, Long timeoutMillis) {
+        DeferredResult<T> deferredResult = new DeferredResult<>(timeoutMillis);
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                deferredResult.setResult(result);
+            } else {
+                deferredResult.setErrorResult(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        });
+        return deferredResult;
+    }
+
+    private void writeHistories(long userId, Long after, OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream);
+        Long cursor = after;
+        do {
+            PointHistoryPage page = pointService.getHistoryPage(userId, new PointHistoryQuery(cursor, null, null, null, MAX_HISTORY_PAGE_SIZE));
+            for (PointHistory pointHistory : page.histories()) {
+                out.write(objectMapper.writeValueAsBytes(pointHistory));
+                out.write('\n');
+            }
+            // 페이지 단위로 내보내 클라이언트가 받은 만큼 바로 처리할 수 있도록 한다.
+            out.flush();
+            cursor = page.nextCursor();
+        } while (cursor != null);
     }
 }
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 이용 내역 한 페이지
+ * - nextCursor : 다음 페이지 조회에 사용할 cursor (마지막 페이지면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+
+    /**
+     * 조건에 맞는 내역을 limit + 1 건까지 모은 목록으로 페이지를 만든다.
+     * - limit 을 넘는 한 건이 있으면 다음 페이지가 있는 것으로 본다.
+     */
+    public static PointHistoryPage of(List<PointHistory> collected, int limit) {
+        if (collected.size() <= limit) {
+            return new PointHistoryPage(collected, null);
+        }
+        List<PointHistory> histories = collected.subList(0, limit);
+        return new PointHistoryPage(List.copyOf(histories), histories.get(limit - 1).id());
+    }
+}
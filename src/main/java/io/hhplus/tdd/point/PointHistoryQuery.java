@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import static io.hhplus.tdd.common.Constants.MAX_HISTORY_PAGE_SIZE;
+
+/**
+ * 포인트 이용 내역 페이지 조회 조건
+ * - cursor : 이전 페이지의 마지막 내역 ID (없으면 처음부터)
+ * - from / to : updateMillis 범위 (양 끝 포함, 없으면 제한 없음)
+ * - type : 충전/사용 구분 (없으면 전체)
+ * - limit : 한 페이지의 최대 건수
+ */
+public record PointHistoryQuery(
+        Long cursor,
+        Long from,
+        Long to,
+        TransactionType type,
+        int limit
+) {
+
+    public PointHistoryQuery {
+        if (limit < 1 || MAX_HISTORY_PAGE_SIZE < limit) {
+            throw new IllegalArgumentException(String.format("조회 건수는 1 이상 %d 이하여야 합니다.", MAX_HISTORY_PAGE_SIZE));
+        }
+        if (from != null && to != null && to < from) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+    }
+
+    /**
+     * cursor 이후의 내역 중 시간/종류 조건에 맞는지 확인한다.
+     */
+    public boolean matches(PointHistory pointHistory) {
+        return matches(pointHistory.id(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    /**
+     * PointHistory 객체를 만들지 않고 컬럼 값만으로 확인한다.
+     */
+    public boolean matches(long id, TransactionType historyType, long updateMillis) {
+        return (cursor == null || cursor < id)
+                && (from == null || from <= updateMillis)
+                && (to == null || updateMillis <= to)
+                && (type == null || type == historyType);
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 충전/사용 지표
+ * - point.mutation : 검증부터 반영 완료까지의 전체 소요 시간 (type, outcome 태그)
+ * - point.rejections : 규칙 위반으로 거절된 요청 수 (reason 태그)
+ * - point.admission.rejections : 처리 한도를 넘어 받지 않은 요청 수 (reason 태그)
+ */
+@Component
+public class PointMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordMutation(TransactionType type, Supplier<T> mutation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = mutation.get();
+            stop(sample, type, null);
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, type, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 충전/사용의 소요 시간은 Future 가 완료되는 시점까지로 잰다. (반환하는 Future 는 그대로 돌려준다)
+     */
+    public <T> CompletableFuture<T> recordMutationAsync(TransactionType type, Supplier<CompletableFuture<T>> mutation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future = mutation.get();
+        future.whenComplete((result, throwable) -> stop(sample, type, throwable));
+        return future;
+    }
+
+    private void stop(Timer.Sample sample, TransactionType type, Throwable throwable) {
+        Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+        String outcome = "success";
+        if (cause instanceof PointPolicyException rejection) {
+            outcome = "rejected";
+            meterRegistry.counter("point.rejections", "reason", rejection.reason().name().toLowerCase()).increment();
+        } else if (cause instanceof AdmissionRejectedException shed) {
+            outcome = "shed";
+            meterRegistry.counter("point.admission.rejections", "reason", shed.reason().name().toLowerCase()).increment();
+        } else if (cause != null) {
+            outcome = "error";
+        }
+        sample.stop(meterRegistry.timer("point.mutation", "type", type.name().toLowerCase(), "outcome", outcome));
+    }
+}
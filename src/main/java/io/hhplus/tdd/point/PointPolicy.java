@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import static io.hhplus.tdd.common.Constants.MAX_POINT;
+import static io.hhplus.tdd.point.PointPolicyException.Reason.*;
+
+/**
+ * 포인트 충전/사용 규칙
+ * - 동시성 제어 방식(락, CAS 등)과 상관없이 동일한 규칙으로 검증하기 위해 한 곳에 모아둔다.
+ */
+public final class PointPolicy {
+
+    /**
+     * 충전/사용 금액을 검증한다.
+     * - 충전/사용 금액은 1원 이상이어야 한다.
+     */
+    public static void validateAmount(long amount, TransactionType type) {
+        if (amount > 0) {
+            return;
+        }
+        switch (type) {
+            case CHARGE -> throw new PointPolicyException(INVALID_AMOUNT, "충전 금액은 1원 이상이어야 합니다.");
+            case USE -> throw new PointPolicyException(INVALID_AMOUNT, "사용 금액은 1원 이상이어야 합니다.");
+        }
+    }
+
+    /**
+     * 현재 포인트에 충전/사용을 적용한 결과 포인트를 계산한다.
+     * - 충전 후 포인트 최대 한도를 초과해서는 안된다.
+     * - 사용 후 포인트가 0 미만이 되어서는 안된다.
+     */
+    public static long apply(long currentPoint, long amount, TransactionType type) {
+        return switch (type) {
+            case CHARGE -> charge(currentPoint, amount);
+            case USE -> use(currentPoint, amount);
+        };
+    }
+
+    private static long charge(long currentPoint, long chargeAmount) {
+        // currentPoint + chargeAmount 의 long 오버플로를 피하기 위해 남은 한도와 비교한다.
+        if (MAX_POINT - currentPoint < chargeAmount) {
+            throw new PointPolicyException(EXCEEDS_MAX_POINT, String.format("최대 포인트 한도(%d)를 초과할 수 없습니다.", MAX_POINT));
+        }
+        return currentPoint + chargeAmount;
+    }
+
+    private static long use(long currentPoint, long useRequestAmount) {
+        if (currentPoint < useRequestAmount) {
+            throw new PointPolicyException(INSUFFICIENT_BALANCE, String.format("포인트가 부족합니다. 현재 포인트: %d, 사용 요청 금액: %d", currentPoint, useRequestAmount));
+        }
+        return currentPoint - useRequestAmount;
+    }
+
+    // 인스턴스화 방지
+    private PointPolicy() {}
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 규칙 위반
+ * - IllegalArgumentException 을 상속하므로 기존과 같이 400 Bad Request 로 응답한다.
+ * - 거절 사유(reason)별로 집계할 수 있도록 사유를 함께 전달한다.
+ */
+public class PointPolicyException extends IllegalArgumentException {
+
+    public enum Reason {
+        INVALID_AMOUNT,
+        EXCEEDS_MAX_POINT,
+        INSUFFICIENT_BALANCE
+    }
+
+    private final Reason reason;
+
+    public PointPolicyException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+}
@@ -1,87 +1,136 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.hhplus.tdd.point.admission.PointAdmissionController;
+import io.hhplus.tdd.point.concurrency.PointUpdater;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-
-import static io.hhplus.tdd.common.Constants.MAX_POINT;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class PointService {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointUpdater pointUpdater;
+    private final PointMetrics pointMetrics;
+    private final PointAdmissionController pointAdmissionController;
+
+    public PointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                        PointUpdater pointUpdater, PointMetrics pointMetrics, PointAdmissionController pointAdmissionController) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointUpdater = pointUpdater;
+        this.pointMetrics = pointMetrics;
+        this.pointAdmissionController = pointAdmissionController;
     }
 
-    // TODO: 요구사항-동일한 사용자에 대한 동시 요청이 정상적으로 처리될 수 있도록 개선
-
-    // TODO: 선택한 언어에 대한 동시성 제어 방식 및 각 적용의 장/단점을 기술한 보고서 작성 ( README.md )
-    // 동시성 문제에 대한 학습 및 각 동시성 문제 해결 방식 간 비교/분석
-
     /**
      * 특정 유저의 포인트를 조회한다.
      * - 유저가 존재하지 않으면 0포인트를 반환한다.
      */
     public UserPoint getPoint(long userId) {
-        return userPointTable.selectById(userId);
+        return userPointRepository.selectById(userId);
     }
 
     /**
      * 특정 유저의 포인트를 충전한다.
      * - 충전 금액은 1원 이상이어야 한다.
      * - 포인트 최대 한도를 초과해서는 안된다.
+     * - 동일 유저의 요청에 대한 동시성 제어는 설정된 PointUpdater 전략(point.concurrency.mode)을 따른다.
+     * - 유저별/전체 처리 한도(point.admission)를 넘으면 기다리지 않고 AdmissionRejectedException 으로 거절한다.
      */
-    public synchronized UserPoint chargePoint(long userId, long chargeAmount) {
-
-        if (chargeAmount <= 0) {
-            throw new IllegalArgumentException("충전 금액은 1원 이상이어야 합니다.");
-        }
-
-        UserPoint currentPoint = userPointTable.selectById(userId);
-
-        // 충전 후 업데이트 되어야 할 포인트
-        long updatePoint = currentPoint.point() + chargeAmount;
-
-        if (MAX_POINT < updatePoint) {
-            throw new IllegalArgumentException(String.format("최대 포인트 한도(%d)를 초과할 수 없습니다.", MAX_POINT));
-        }
-
-        pointHistoryTable.insert(userId, chargeAmount, TransactionType.CHARGE, System.currentTimeMillis());
+    public UserPoint chargePoint(long userId, long chargeAmount) {
+        return update(userId, chargeAmount, TransactionType.CHARGE);
+    }
 
-        return userPointTable.insertOrUpdate(userId, updatePoint);
+    /**
+     * 특정 유저의 포인트를 비동기로 충전한다.
+     * - 검증 규칙은 chargePoint 와 같으며, 규칙 위반은 예외로 완료된 Future 로 전달한다.
+     */
+    public CompletableFuture<UserPoint> chargePointAsync(long userId, long chargeAmount) {
+        return updateAsync(userId, chargeAmount, TransactionType.CHARGE);
     }
 
     /**
      * 특정 유저의 포인트를 사용한다.
      * - 포인트 잔액이 부족하면 안된다.
      * - 사용 금액은 1원 이상이어야 한다.
+     * - 동일 유저의 요청에 대한 동시성 제어는 설정된 PointUpdater 전략(point.concurrency.mode)을 따른다.
+     * - 유저별/전체 처리 한도(point.admission)를 넘으면 기다리지 않고 AdmissionRejectedException 으로 거절한다.
      */
-    public synchronized UserPoint usePoint(long userId, long useRequestAmount) {
-
-        if (useRequestAmount <= 0) {
-            throw new IllegalArgumentException("사용 금액은 1원 이상이어야 합니다.");
-        }
+    public UserPoint usePoint(long userId, long useRequestAmount) {
+        return update(userId, useRequestAmount, TransactionType.USE);
+    }
 
-        UserPoint currentPoint = userPointTable.selectById(userId);
+    /**
+     * 특정 유저의 포인트를 비동기로 사용한다.
+     * - 검증 규칙은 usePoint 와 같으며, 규칙 위반은 예외로 완료된 Future 로 전달한다.
+     */
+    public CompletableFuture<UserPoint> usePointAsync(long userId, long useRequestAmount) {
+        return updateAsync(userId, useRequestAmount, TransactionType.USE);
+    }
 
-        // 사용 후 업데이트 되어야 할 포인트
-        long updatePoint = currentPoint.point() - useRequestAmount;
+    /**
+     * 일괄 요청의 항목 하나를 비동기로 반영한다. (PointBulkService 전용)
+     * - 전체 처리 한도는 일괄 요청 전체가 admitBulk 로 이미 차지했으므로, 유저별 한도(admitBulkItem)만 적용한다.
+     * - 검증 규칙은 chargePoint/usePoint 와 같다.
+     */
+    CompletableFuture<UserPoint> applyBulkItemAsync(long userId, long amount, TransactionType type) {
+        return pointMetrics.recordMutationAsync(type, () -> {
+            PointAdmissionController.Permit permit;
+            try {
+                PointPolicy.validateAmount(amount, type);
+                permit = pointAdmissionController.admitBulkItem(userId);
+            } catch (IllegalArgumentException | AdmissionRejectedException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return pointUpdater.updateAsync(userId, amount, type)
+                    .whenComplete((userPoint, throwable) -> pointAdmissionController.release(permit, throwable == null));
+        });
+    }
 
-        if (updatePoint < 0) {
-            throw new IllegalArgumentException(String.format("포인트가 부족합니다. 현재 포인트: %d, 사용 요청 금액: %d", currentPoint.point(), useRequestAmount));
-        }
+    private UserPoint update(long userId, long amount, TransactionType type) {
+        return pointMetrics.recordMutation(type, () -> {
+            PointPolicy.validateAmount(amount, type);
+            PointAdmissionController.Permit permit = pointAdmissionController.admit(userId);
+            boolean succeeded = false;
+            try {
+                UserPoint userPoint = pointUpdater.update(userId, amount, type);
+                succeeded = true;
+                return userPoint;
+            } finally {
+                pointAdmissionController.release(permit, succeeded);
+            }
+        });
+    }
 
-        pointHistoryTable.insert(userId, useRequestAmount, TransactionType.USE, System.currentTimeMillis());
+    private CompletableFuture<UserPoint> updateAsync(long userId, long amount, TransactionType type) {
+        return pointMetrics.recordMutationAsync(type, () -> {
+            PointAdmissionController.Permit permit;
+            try {
+                PointPolicy.validateAmount(amount, type);
+                permit = pointAdmissionController.admit(userId);
+            } catch (IllegalArgumentException | AdmissionRejectedException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return pointUpdater.updateAsync(userId, amount, type)
+                    .whenComplete((userPoint, throwable) -> pointAdmissionController.release(permit, throwable == null));
+        });
+    }
 
-        return userPointTable.insertOrUpdate(userId, updatePoint);
+    /**
+     * 특정 유저의 포인트 이용 요약(충전/사용 합계와 건수, 마지막 이용 시각)을 조회한다.
+     * - 이용 내역 저장소가 내역을 저장할 때 함께 갱신해 둔 값을 돌려주므로 이용 내역 길이와 상관없이 O(1) 이다.
+     * - 요약은 getHistories 로 조회되는 내역을 합산한 값과 항상 같다. (outbox 모드에서는 내역이 기록된 뒤에 반영됨)
+     */
+    public PointSummary getSummary(long userId) {
+        return pointHistoryRepository.selectSummary(userId);
     }
 
     /**
@@ -91,9 +140,15 @@ public class PointService {
      */
     public List<PointHistory> getHistories(long userId) {
 
-        List<PointHistory> userHistoryList = pointHistoryTable.selectAllByUserId(userId);
-
-        return Optional.ofNullable(pointHistoryTable.selectAllByUserId(userId))
+        return Optional.ofNullable(pointHistoryRepository.selectAllByUserId(userId))
                 .orElse(Collections.emptyList());
     }
+
+    /**
+     * 특정 유저의 포인트 이용 내역을 cursor 기반으로 한 페이지 조회한다.
+     * - cursor 이후의 내역 중 시간 범위/종류 조건에 맞는 내역을 ID 순으로 최대 limit 건 반환한다.
+     */
+    public PointHistoryPage getHistoryPage(long userId, PointHistoryQuery query) {
+        return pointHistoryRepository.selectPage(userId, query);
+    }
 }
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저별 포인트 이용 요약
+ * - 충전/사용 합계와 건수, 마지막 이용 시각 (이용 내역이 없으면 모두 0)
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long chargeCount,
+        long useCount,
+        long lastActivityMillis
+) {
+
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * 이용 내역 한 건을 더한 요약을 만든다.
+     * - 반영 순서가 시각 순서와 다를 수 있으므로 마지막 이용 시각은 더 늦은 쪽을 남긴다.
+     */
+    public PointSummary plus(long amount, TransactionType type, long updateMillis) {
+        long lastActivity = Math.max(lastActivityMillis, updateMillis);
+        return switch (type) {
+            case CHARGE -> new PointSummary(userId, totalCharged + amount, totalUsed, chargeCount + 1, useCount, lastActivity);
+            case USE -> new PointSummary(userId, totalCharged, totalUsed + amount, chargeCount, useCount + 1, lastActivity);
+        };
+    }
+}
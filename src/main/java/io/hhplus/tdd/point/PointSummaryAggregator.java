@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 포인트 이용 요약을 이용 내역이 저장될 때마다 갱신해 둔다.
+ * - 이용 내역 저장소가 내역을 저장하는 자리에서 함께 갱신하므로, 요약은 항상 저장된 내역을 합산한 값과 같다.
+ * - 요약 조회는 이용 내역 길이와 상관없이 O(1) 이다. (내역 전체를 읽어 합산하지 않음)
+ * - 같은 유저의 갱신은 ConcurrentHashMap.merge 로 원자적으로 반영된다.
+ */
+public class PointSummaryAggregator {
+
+    private final Map<Long, PointSummary> summaries = new ConcurrentHashMap<>();
+
+    public void record(long userId, long amount, TransactionType type, long updateMillis) {
+        summaries.merge(userId, PointSummary.empty(userId).plus(amount, type, updateMillis),
+                (current, ignored) -> current.plus(amount, type, updateMillis));
+    }
+
+    public PointSummary get(long userId) {
+        PointSummary summary = summaries.get(userId);
+        return (summary == null) ? PointSummary.empty(userId) : summary;
+    }
+}
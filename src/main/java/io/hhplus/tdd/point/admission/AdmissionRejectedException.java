@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.admission;
+
+/**
+ * 처리 한도를 넘어 충전/사용 요청을 받지 않았음을 나타낸다. (ApiControllerAdvice 에서 429 로 응답)
+ * - 요청을 대기시키지 않고 바로 거절하므로, 같은 요청을 잠시 후 다시 보내면 된다.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        USER_IN_FLIGHT("해당 유저의 처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+        USER_RATE("해당 유저의 요청이 너무 잦습니다. 잠시 후 다시 시도해주세요."),
+        GLOBAL_CONCURRENCY("처리 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+        IDEMPOTENCY_IN_FLIGHT("처리 중인 Idempotency-Key 가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+    }
+
+    private final Reason reason;
+
+    public AdmissionRejectedException(Reason reason) {
+        super(reason.message);
+        this.reason = reason;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+}
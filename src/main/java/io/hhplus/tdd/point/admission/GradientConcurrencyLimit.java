@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간 변화에 맞춰 스스로 조절되는 전체 동시 처리 한도 (gradient 방식)
+ * - 긴 구간 평균 응답 시간(longRtt)과 최근 응답 시간(shortRtt)의 비율을 기울기로 삼는다.
+ * - 최근 응답이 평소보다 느려지면(큐가 쌓이기 시작하면) 기울기가 1 보다 작아져 한도를 줄이고, 평소 수준이면 sqrt(limit) 만큼 여유를 더해 늘린다.
+ * - 한도의 절반도 쓰지 않을 만큼 한가할 때는 한도를 늘리지 않는다. (부하가 없는 동안 한도가 무한히 커지지 않음)
+ * - 한도를 넘는 요청은 기다리지 않고 바로 거절된다.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double LONG_RTT_ALPHA = 0.01;
+    private static final double SHORT_RTT_ALPHA = 0.1;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRtt;
+    private double shortRtt;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("동시 처리 한도는 0 < min <= initial <= max 여야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * 한도 안이면 처리 중 요청 수를 하나 늘리고 true 를 반환한다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리를 마친 요청을 반납한다.
+     * - 정상 처리된 요청의 응답 시간만 한도 계산에 반영한다.
+     */
+    public void release(long rttNanos, boolean sampled) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        if (sampled && rttNanos > 0) {
+            onSample(rttNanos, inFlightBeforeRelease);
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            shortRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_RTT_ALPHA;
+        longRtt += (rttNanos - longRtt) * LONG_RTT_ALPHA;
+
+        // 부하가 줄어 응답이 평소보다 크게 빨라졌으면 평소 기준도 빨리 따라 내려가게 한다.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlightAtRelease < limit / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+}
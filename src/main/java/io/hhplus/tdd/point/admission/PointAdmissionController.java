@@ -0,0 +1,192 @@
+package io.hhplus.tdd.point.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 요청 입장 제어
+ * - 유저별 처리 중 요청 수(point.admission.user.max-in-flight)와 토큰 버킷 요청 빈도(rate-per-second, burst)를 넘으면 거절한다.
+ * - 전체 동시 처리 수는 응답 시간에 맞춰 조절되는 GradientConcurrencyLimit 를 넘으면 거절한다.
+ * - 거절은 AdmissionRejectedException 으로 바로 알리므로, 한 유저의 요청이 락 앞에 수백 건씩 쌓여 다른 유저의 응답까지 늦추지 않는다.
+ * - 일괄 요청은 admitBulk 로 요청 전체가 전체 한도를 한 번만 차지하고, 항목은 admitBulkItem 으로 한 건씩 유저별 한도를 거친다.
+ * - 처리 중 요청이 없고 버킷이 가득 찬 유저의 상태는 백그라운드에서 지워 맵이 무한히 커지지 않게 한다.
+ * - 지표: point.admission.limit (현재 전체 동시 처리 한도), point.admission.in.flight (전체 처리 중 요청 수)
+ */
+@Component
+public class PointAdmissionController {
+
+    private final boolean enabled;
+    private final int userMaxInFlight;
+    private final long userBurst;
+    private final double userRatePerSecond;
+    private final GradientConcurrencyLimit globalLimit;
+
+    // 유저 상태는 compute 안에서만 읽고 쓴다. (키 단위로 원자적)
+    private final ConcurrentHashMap<Long, UserState> users = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public PointAdmissionController(MeterRegistry meterRegistry,
+                                    @Value("${point.admission.enabled:true}") boolean enabled,
+                                    @Value("${point.admission.user.max-in-flight:16}") int userMaxInFlight,
+                                    @Value("${point.admission.user.rate-per-second:50}") double userRatePerSecond,
+                                    @Value("${point.admission.user.burst:100}") long userBurst,
+                                    @Value("${point.admission.global.initial-limit:200}") int globalInitialLimit,
+                                    @Value("${point.admission.global.min-limit:20}") int globalMinLimit,
+                                    @Value("${point.admission.global.max-limit:2000}") int globalMaxLimit) {
+        this.enabled = enabled;
+        this.userMaxInFlight = userMaxInFlight;
+        this.userRatePerSecond = userRatePerSecond;
+        this.userBurst = userBurst;
+        this.globalLimit = new GradientConcurrencyLimit(globalInitialLimit, globalMinLimit, globalMaxLimit);
+        Gauge.builder("point.admission.limit", globalLimit, GradientConcurrencyLimit::limit).register(meterRegistry);
+        Gauge.builder("point.admission.in.flight", globalLimit, GradientConcurrencyLimit::inFlight).register(meterRegistry);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-admission-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::removeIdleUsers, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 요청을 받아도 되면 입장권을 돌려주고, 한도를 넘었으면 AdmissionRejectedException 을 던진다.
+     * - 입장권은 처리가 끝나면 반드시 release 로 반납해야 한다.
+     */
+    public Permit admit(long userId) {
+        if (!enabled) {
+            return Permit.UNLIMITED;
+        }
+
+        long now = System.nanoTime();
+        admitUser(userId, now);
+        if (!globalLimit.tryAcquire()) {
+            releaseUser(userId);
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.GLOBAL_CONCURRENCY);
+        }
+        return new Permit(userId, now, Permit.Scope.REQUEST);
+    }
+
+    /**
+     * 일괄 요청 전체를 한 번에 입장시킨다. 전체 동시 처리 한도를 넘었으면 AdmissionRejectedException 을 던진다.
+     * - 전체 한도만 한 칸 차지하고, 유저별 한도는 항목마다 admitBulkItem 으로 따로 적용한다.
+     * - 입장권은 모든 항목을 처리한 뒤 release 로 반납해야 한다.
+     */
+    public Permit admitBulk() {
+        if (!enabled) {
+            return Permit.UNLIMITED;
+        }
+        if (!globalLimit.tryAcquire()) {
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.GLOBAL_CONCURRENCY);
+        }
+        return new Permit(0L, System.nanoTime(), Permit.Scope.BULK);
+    }
+
+    /**
+     * admitBulk 로 입장한 일괄 요청의 항목 한 건을 유저별 한도(처리 중 요청 수, 토큰 버킷)로 입장시킨다.
+     * - 전체 한도는 일괄 요청이 이미 차지했으므로 다시 차지하지 않는다.
+     * - 한 유저의 항목이 토큰보다 많으면 넘는 항목부터 AdmissionRejectedException 으로 거절되므로, 일괄 요청으로 유저별 한도를 우회할 수 없다.
+     */
+    public Permit admitBulkItem(long userId) {
+        if (!enabled) {
+            return Permit.UNLIMITED;
+        }
+        long now = System.nanoTime();
+        admitUser(userId, now);
+        return new Permit(userId, now, Permit.Scope.BULK_ITEM);
+    }
+
+    /**
+     * 입장권을 반납한다.
+     * - 정상 처리된 요청(succeeded)의 처리 시간만 전체 한도 조절에 반영한다.
+     * - 일괄 요청의 처리 시간은 요청 한 건의 응답 시간이 아니므로 반영하지 않는다.
+     */
+    public void release(Permit permit, boolean succeeded) {
+        if (permit == Permit.UNLIMITED) {
+            return;
+        }
+        switch (permit.scope()) {
+            case REQUEST -> {
+                releaseUser(permit.userId());
+                globalLimit.release(System.nanoTime() - permit.admittedAt(), succeeded);
+            }
+            case BULK -> globalLimit.release(0L, false);
+            case BULK_ITEM -> releaseUser(permit.userId());
+        }
+    }
+
+    /**
+     * 처리 중 요청이 없고 토큰이 가득 찬 유저의 상태를 지운다. (백그라운드에서 주기적으로 호출됨)
+     */
+    public void removeIdleUsers() {
+        long now = System.nanoTime();
+        users.forEach((userId, state) ->
+                users.computeIfPresent(userId, (id, current) -> (current.inFlight == 0 && current.bucket.isFull(now)) ? null : current));
+    }
+
+    public int globalLimit() {
+        return globalLimit.limit();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // 유저별 처리 중 요청 수와 토큰 버킷을 확인하고 한 칸 차지한다. 넘으면 AdmissionRejectedException
+    private void admitUser(long userId, long now) {
+        AdmissionRejectedException.Reason[] rejected = new AdmissionRejectedException.Reason[1];
+        users.compute(userId, (id, state) -> {
+            UserState admitted = (state == null) ? new UserState(new TokenBucket(userBurst, userRatePerSecond, now)) : state;
+            if (admitted.inFlight >= userMaxInFlight) {
+                rejected[0] = AdmissionRejectedException.Reason.USER_IN_FLIGHT;
+            } else if (!admitted.bucket.tryConsume(now)) {
+                rejected[0] = AdmissionRejectedException.Reason.USER_RATE;
+            } else {
+                admitted.inFlight++;
+            }
+            return admitted;
+        });
+        if (rejected[0] != null) {
+            throw new AdmissionRejectedException(rejected[0]);
+        }
+    }
+
+    private void releaseUser(long userId) {
+        users.computeIfPresent(userId, (id, state) -> {
+            state.inFlight--;
+            return state;
+        });
+    }
+
+    /**
+     * 입장권
+     * - scope 는 입장권이 차지한 한도를 나타낸다. (REQUEST: 유저별 + 전체, BULK: 전체, BULK_ITEM: 유저별)
+     */
+    public record Permit(long userId, long admittedAt, Scope scope) {
+
+        // 입장 제어를 끈 경우 돌려주는 입장권 (반납해도 아무 일도 하지 않음)
+        static final Permit UNLIMITED = new Permit(0L, 0L, Scope.REQUEST);
+
+        public enum Scope {
+            REQUEST, BULK, BULK_ITEM
+        }
+    }
+
+    private static final class UserState {
+        private final TokenBucket bucket;
+        private int inFlight;
+
+        private UserState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
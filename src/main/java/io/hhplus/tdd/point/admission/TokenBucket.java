@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.admission;
+
+/**
+ * 토큰 버킷
+ * - 최대 capacity 개까지 토큰을 담고, 초당 ratePerSecond 개씩 채운다. (채우기는 꺼낼 때 경과 시간만큼 한 번에 계산)
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(long capacity, double ratePerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    boolean tryConsume(long now) {
+        refill(now);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 유저별 단일 작성자(액터) 기반 포인트 반영 (point.concurrency.mode=actor)
+ * - 유저마다 메일박스를 두고, 충전/사용 요청을 메일박스에 넣은 뒤 바로 CompletableFuture 를 반환한다.
+ * - 한 메일박스는 한 번에 하나의 워커만 비우므로, 락 없이도 동일 유저의 요청은 도착 순서대로 처리된다.
+ * - 워커는 메일박스에 쌓인 요청을 최대 point.concurrency.group-commit.max-batch-size 건씩 묶어 그룹 커밋한다.
+ * - 워커 스레드 수는 point.concurrency.actor.workers 로 설정한다.
+ * - 요청을 모두 처리해 비어 있는 메일박스는 맵에서 지우므로, 한 번 요청한 유저마다 메일박스가 계속 남지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "actor")
+public class ActorPointUpdater implements PointUpdater {
+
+    private final PointGroupCommitter groupCommitter;
+    private final int maxBatchSize;
+    private final ExecutorService workers;
+
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public ActorPointUpdater(UserPointRepository userPointRepository,
+                             PointHistoryWriter pointHistoryWriter,
+                             @Value("${point.concurrency.actor.workers:64}") int workerCount,
+                             @Value("${point.concurrency.group-commit.max-batch-size:100}") int maxBatchSize) {
+        this.groupCommitter = new PointGroupCommitter(userPointRepository, pointHistoryWriter);
+        this.maxBatchSize = maxBatchSize;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+    }
+
+    @Override
+    public UserPoint update(long userId, long amount, TransactionType type) {
+        return enqueue(userId, amount, type).await();
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> updateAsync(long userId, long amount, TransactionType type) {
+        return enqueue(userId, amount, type).result();
+    }
+
+    private PointCommand enqueue(long userId, long amount, TransactionType type) {
+        PointCommand command = new PointCommand(amount, type);
+        // 빈 메일박스를 지우는 쪽(Mailbox.retireIfIdle)과 키 단위로 원자적이도록 compute 안에서 요청을 넣는다.
+        Mailbox mailbox = mailboxes.compute(userId, (id, current) -> {
+            Mailbox target = (current == null) ? new Mailbox(id) : current;
+            target.queue.offer(command);
+            return target;
+        });
+        mailbox.schedule();
+        return command;
+    }
+
+    /**
+     * 맵에 남아 있는 메일박스 수 (처리할 요청이 남았거나 막 비워진 유저 수)
+     */
+    public int mailboxCount() {
+        return mailboxes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 유저 한 명의 요청 큐
+     * - scheduled 플래그를 선점한 스레드만 워커에 drain 작업을 제출하므로 동시에 두 워커가 같은 메일박스를 비우지 않는다.
+     * - 비워진 메일박스는 scheduled 플래그를 쥔 채로 맵에서 지우고 플래그를 내리지 않으므로, 지워진 메일박스는 다시 실행되지 않는다.
+     */
+    private final class Mailbox {
+
+        private final long userId;
+        private final ConcurrentLinkedQueue<PointCommand> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(long userId) {
+            this.userId = userId;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<PointCommand> batch;
+                while (!(batch = nextBatch()).isEmpty()) {
+                    commit(batch);
+                }
+            } finally {
+                // Error 로 빠져나가도 플래그를 내려야 이후 요청이 처리된다.
+                scheduled.set(false);
+                if (queue.isEmpty()) {
+                    retireIfIdle();
+                } else {
+                    // 플래그를 내리는 사이에 들어온 요청이 있으면 다시 예약한다.
+                    schedule();
+                }
+            }
+        }
+
+        private void commit(List<PointCommand> batch) {
+            try {
+                groupCommitter.commit(userId, batch);
+            } catch (Error e) {
+                batch.forEach(command -> command.result().completeExceptionally(e));
+                throw e;
+            }
+        }
+
+        // 비어 있으면 맵에서 지운다. 그 사이 요청이 들어왔으면 지우지 않고 다시 비운다.
+        private void retireIfIdle() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            boolean[] retired = new boolean[1];
+            mailboxes.computeIfPresent(userId, (id, current) -> {
+                retired[0] = (current == this && queue.isEmpty());
+                return retired[0] ? null : current;
+            });
+            if (!retired[0]) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private List<PointCommand> nextBatch() {
+            List<PointCommand> batch = new ArrayList<>();
+            PointCommand command;
+            while (batch.size() < maxBatchSize && (command = queue.poll()) != null) {
+                batch.add(command);
+            }
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.UserLockProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 유저 락 기반 포인트 반영 (point.concurrency.mode=lock, 기본값)
+ * - 요청을 유저별 대기 큐에 넣은 뒤 유저 락을 잡는다. (락 구현은 point.lock.provider 를 따름)
+ * - 락을 잡은 스레드는 대기 큐에 쌓인 요청을 최대 point.concurrency.group-commit.max-batch-size 건씩 묶어 그룹 커밋한다.
+ * - 이미 앞선 스레드가 대신 반영해준 요청은 락을 잡자마자 바로 결과를 반환한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "lock", matchIfMissing = true)
+public class LockingPointUpdater implements PointUpdater {
+
+    private final UserLockProvider userLockProvider;
+    private final PointGroupCommitter groupCommitter;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<Long, Queue<PointCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    public LockingPointUpdater(UserPointRepository userPointRepository,
+                               PointHistoryWriter pointHistoryWriter,
+                               UserLockProvider userLockProvider,
+                               @Value("${point.concurrency.group-commit.max-batch-size:100}") int maxBatchSize) {
+        this.userLockProvider = userLockProvider;
+        this.groupCommitter = new PointGroupCommitter(userPointRepository, pointHistoryWriter);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public UserPoint update(long userId, long amount, TransactionType type) {
+        PointCommand command = new PointCommand(amount, type);
+        Queue<PointCommand> pending = pendingCommands.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>());
+        pending.offer(command);
+
+        userLockProvider.executeWithLock(userId, () -> {
+            while (!command.result().isDone()) {
+                groupCommitter.commit(userId, drain(pending));
+            }
+            // 락 안에서만 제거하므로, 제거된 큐에 뒤늦게 들어간 요청도 그 요청의 스레드가 락을 잡고 직접 반영한다.
+            if (pending.isEmpty()) {
+                pendingCommands.remove(userId, pending);
+            }
+            return null;
+        });
+
+        return command.await();
+    }
+
+    private List<PointCommand> drain(Queue<PointCommand> pending) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand command;
+        while (batch.size() < maxBatchSize && (command = pending.poll()) != null) {
+            batch.add(command);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,210 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.hhplus.tdd.common.Constants.MAX_POINT;
+
+/**
+ * CAS(낙관적) 기반 포인트 반영 (point.concurrency.mode=optimistic)
+ * - 유저별 잔액을 원자적 셀에 보관하고, compareAndSet 재시도 루프로 최대 한도/잔액 부족 규칙을 지키며 갱신한다.
+ * - 락을 잡지 않으므로 한 유저에게 요청이 몰려도 스레드가 블로킹되지 않는다.
+ * - 셀 갱신에 성공한 뒤에만 내역 저장과 포인트 저장소 반영을 수행하고, 둘 중 하나라도 실패하면 셀에서 그 증감을 되돌린다.
+ * - 셀은 maxCachedUsers 명까지만 보관하고, 넘치면 진행 중인 요청이 없는 셀부터 오래 쓰지 않은 순으로 버린다.
+ * - 지표: point.optimistic.retries (경합으로 다시 시도한 수), point.optimistic.failures (규칙 위반으로 거절된 수)
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "optimistic")
+public class OptimisticPointUpdater implements PointUpdater {
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final int maxCachedUsers;
+
+    /**
+     * 유저별 잔액 셀 (접근 순서 LinkedHashMap)
+     * - 맵 조회/추가/제거와 Cell 의 users, stale 은 balances 락 안에서만 다룬다. 셀 값의 CAS 는 락 밖에서 한다.
+     */
+    private final LinkedHashMap<Long, Cell> balances = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public OptimisticPointUpdater(UserPointRepository userPointRepository, PointHistoryWriter pointHistoryWriter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${point.concurrency.optimistic.max-cached-users:100000}") int maxCachedUsers) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.maxCachedUsers = Math.max(1, maxCachedUsers);
+        FunctionCounter.builder("point.optimistic.retries", retries, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.optimistic.failures", failures, LongAdder::sum).register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint update(long userId, long amount, TransactionType type) {
+        Cell cell = acquire(userId);
+        try {
+            Balance updated = compareAndSet(userId, cell.balance, amount, type);
+            try {
+                pointHistoryWriter.write(userId, amount, type, System.currentTimeMillis());
+
+                UserPoint persisted = persist(userId, cell.balance, updated);
+                return new UserPoint(userId, updated.point(), persisted.updateMillis());
+            } catch (RuntimeException | Error e) {
+                revert(cell, amount, type);
+                throw e;
+            }
+        } finally {
+            release(userId, cell);
+        }
+    }
+
+    /**
+     * CAS 경합 지표
+     * - commits : 셀 갱신 성공 수
+     * - retries : 다른 스레드와 경합해 다시 시도한 수
+     * - failures : 최대 한도/잔액 부족 규칙 위반으로 거절된 수
+     */
+    public ContentionStats contentionStats() {
+        return new ContentionStats(commits.sum(), retries.sum(), failures.sum());
+    }
+
+    int cachedUsers() {
+        synchronized (balances) {
+            return balances.size();
+        }
+    }
+
+    /**
+     * 유저의 셀을 꺼내고 진행 중인 요청 수를 늘린다.
+     * - 셀이 없으면 빈 셀을 만들고, 잔액은 락 밖에서 처음 쓰는 요청이 저장소에서 읽어 채운다.
+     */
+    private Cell acquire(long userId) {
+        synchronized (balances) {
+            Cell cell = balances.get(userId);
+            if (cell == null) {
+                cell = new Cell();
+                balances.put(userId, cell);
+                evictIdle();
+            }
+            cell.users++;
+            return cell;
+        }
+    }
+
+    /**
+     * 진행 중인 요청 수를 줄이고, 버리도록 표시된 셀은 마지막 요청이 끝날 때 맵에서 뺀다.
+     */
+    private void release(long userId, Cell cell) {
+        synchronized (balances) {
+            cell.users--;
+            if (cell.stale && cell.users == 0) {
+                balances.remove(userId, cell);
+            }
+        }
+    }
+
+    /**
+     * 오래 쓰지 않은 순으로 진행 중인 요청이 없는 셀만 버린다.
+     * - 진행 중인 셀을 버리면 그 요청의 저장소 반영이 끝나기 전에 새 셀이 옛 값을 읽을 수 있으므로 건너뛴다.
+     * - 그래서 동시에 진행 중인 유저 수만큼은 maxCachedUsers 를 잠시 넘을 수 있다.
+     */
+    private void evictIdle() {
+        Iterator<Cell> iterator = balances.values().iterator();
+        while (balances.size() > maxCachedUsers && iterator.hasNext()) {
+            if (iterator.next().users == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 내역 저장이나 저장소 반영에 실패한 요청의 증감을 셀에서 되돌린다.
+     * - 그 사이 다른 요청이 이 값 위에서 갱신했어도 증감만큼 빼므로 그 요청들의 반영분은 남는다.
+     * - 되돌린 값이 0 미만이거나 최대 한도를 넘으면 셀을 버리도록 표시해, 진행 중인 요청이 끝나면 저장소에서 다시 읽게 한다.
+     */
+    private void revert(Cell cell, long amount, TransactionType type) {
+        long delta = (type == TransactionType.CHARGE) ? -amount : amount;
+        while (true) {
+            Balance current = cell.balance.get();
+            long reverted = current.point() + delta;
+            if (reverted < 0 || MAX_POINT < reverted) {
+                synchronized (balances) {
+                    cell.stale = true;
+                }
+                return;
+            }
+            if (cell.balance.compareAndSet(current, new Balance(reverted, current.version() + 1))) {
+                return;
+            }
+        }
+    }
+
+    private Balance compareAndSet(long userId, AtomicReference<Balance> cell, long amount, TransactionType type) {
+        while (true) {
+            Balance current = cell.get();
+            if (current == null) {
+                cell.compareAndSet(null, new Balance(userPointRepository.selectById(userId).point(), 0));
+                continue;
+            }
+
+            long updatePoint;
+            try {
+                updatePoint = PointPolicy.apply(current.point(), amount, type);
+            } catch (IllegalArgumentException e) {
+                failures.increment();
+                throw e;
+            }
+
+            Balance updated = new Balance(updatePoint, current.version() + 1);
+            if (cell.compareAndSet(current, updated)) {
+                commits.increment();
+                return updated;
+            }
+            retries.increment();
+        }
+    }
+
+    /**
+     * 셀의 최신 값을 테이블에 반영한다.
+     * - 여러 스레드의 insertOrUpdate 순서는 보장되지 않으므로, 쓰고 난 뒤 셀이 더 최신이면 최신 값을 다시 쓴다.
+     * - 마지막으로 테이블에 쓴 스레드가 항상 셀과 비교하므로 테이블은 결국 셀의 최신 값으로 수렴한다.
+     */
+    private UserPoint persist(long userId, AtomicReference<Balance> cell, Balance written) {
+        UserPoint persisted = userPointRepository.insertOrUpdate(userId, written.point());
+
+        Balance latest = cell.get();
+        while (latest.version() != written.version()) {
+            written = latest;
+            persisted = userPointRepository.insertOrUpdate(userId, written.point());
+            latest = cell.get();
+        }
+        return persisted;
+    }
+
+    private record Balance(long point, long version) {
+    }
+
+    private static final class Cell {
+        private final AtomicReference<Balance> balance = new AtomicReference<>();
+        private int users;
+        private boolean stale;
+    }
+
+    public record ContentionStats(long commits, long retries, long failures) {
+    }
+}
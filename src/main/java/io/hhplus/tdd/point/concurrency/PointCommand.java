@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 아직 반영되지 않은 충전/사용 요청 한 건
+ * - 요청한 스레드와 실제로 반영하는 스레드가 다를 수 있으므로 결과는 Future 로 전달한다.
+ */
+record PointCommand(long amount, TransactionType type, CompletableFuture<UserPoint> result) {
+
+    PointCommand(long amount, TransactionType type) {
+        this(amount, type, new CompletableFuture<>());
+    }
+
+    /**
+     * 반영이 끝날 때까지 기다린 뒤 결과를 반환한다.
+     * - 규칙 위반 등으로 실패했다면 원인 예외를 그대로 던진다.
+     */
+    UserPoint await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 동일 유저의 대기 중인 요청을 한 번에 반영하는 그룹 커밋
+ * - 포인트는 한 번만 조회하고, 도착 순서대로 최대 한도/잔액 부족 규칙을 검증한다.
+ * - 규칙을 위반한 요청만 개별적으로 실패시키고, 나머지는 내역을 저장한 뒤 최종 포인트를 한 번만 갱신한다.
+ * - 호출하는 쪽에서 동일 유저에 대해 한 번에 하나의 commit 만 실행되도록 보장해야 한다.
+ */
+class PointGroupCommitter {
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+
+    PointGroupCommitter(UserPointRepository userPointRepository, PointHistoryWriter pointHistoryWriter) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+    }
+
+    void commit(long userId, List<PointCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        // 조회/저장 중 예외가 나면 아직 끝나지 않은 요청을 모두 실패시킨다. (끝나지 않은 요청이 남으면 그 요청의 스레드가 락을 놓지 못함)
+        try {
+            long point = userPointRepository.selectById(userId).point();
+
+            List<PointCommand> accepted = new ArrayList<>(commands.size());
+            long[] acceptedPoints = new long[commands.size()];
+
+            for (PointCommand command : commands) {
+                try {
+                    point = PointPolicy.apply(point, command.amount(), command.type());
+                    acceptedPoints[accepted.size()] = point;
+                    accepted.add(command);
+                } catch (IllegalArgumentException e) {
+                    command.result().completeExceptionally(e);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            for (PointCommand command : accepted) {
+                pointHistoryWriter.write(userId, command.amount(), command.type(), now);
+            }
+
+            UserPoint persisted = userPointRepository.insertOrUpdate(userId, point);
+
+            // 마지막 요청은 저장된 결과를, 앞선 요청은 각자 반영 직후의 포인트를 돌려준다.
+            int last = accepted.size() - 1;
+            for (int i = 0; i < last; i++) {
+                accepted.get(i).result().complete(new UserPoint(userId, acceptedPoints[i], persisted.updateMillis()));
+            }
+            accepted.get(last).result().complete(persisted);
+        } catch (RuntimeException e) {
+            // 이미 규칙 위반으로 끝난 요청은 completeExceptionally 가 무시된다.
+            commands.forEach(command -> command.result().completeExceptionally(e));
+        }
+    }
+}
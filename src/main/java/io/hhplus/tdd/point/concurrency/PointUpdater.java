@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 포인트 충전/사용을 반영하는 동시성 제어 전략
+ * - point.concurrency.mode 설정값으로 구현체를 선택한다. (기본값: lock)
+ * - 금액 자체의 검증은 호출 전에 끝났다고 가정하고, 잔액 규칙(최대 한도, 잔액 부족)만 검증한다.
+ */
+public interface PointUpdater {
+
+    /**
+     * 유저의 포인트에 충전/사용을 반영하고, 반영된 포인트를 반환한다.
+     */
+    UserPoint update(long userId, long amount, TransactionType type);
+
+    /**
+     * 유저의 포인트에 충전/사용을 반영하고, 반영 결과를 CompletableFuture 로 반환한다.
+     * - 기본 구현은 호출 스레드에서 update 를 실행한 뒤 완료된 Future 를 반환한다.
+     * - 규칙 위반 등 예외는 Future 를 예외로 완료시켜 전달한다.
+     */
+    default CompletableFuture<UserPoint> updateAsync(long userId, long amount, TransactionType type) {
+        try {
+            return CompletableFuture.completedFuture(update(userId, amount, type));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
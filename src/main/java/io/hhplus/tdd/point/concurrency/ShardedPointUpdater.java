@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유저 ID 해시로 나눈 샤드별 단일 스레드 실행기 기반 포인트 반영 (point.concurrency.mode=sharded)
+ * - 유저는 항상 같은 샤드로 가고, 샤드마다 전용 스레드 하나가 요청을 도착 순서대로 처리하므로 락이 필요 없다.
+ * - 샤드는 맡은 유저의 잔액을 스레드 전용 맵에 들고 있어, 검증할 때 다른 샤드와 공유하는 저장소를 읽지 않는다. (처음 보는 유저만 저장소에서 읽어 옴)
+ * - 샤드가 들고 있는 유저 수는 point.concurrency.sharded.max-cached-users 를 샤드 수로 나눈 만큼으로 제한하고, 넘치면 가장 오래 쓰지 않은 유저부터 버린다. (다시 오면 저장소에서 읽음)
+ * - 반영 결과는 내역과 함께 저장소에 그대로 써 두므로 조회 API 는 다른 모드와 같이 저장소를 읽는다.
+ * - 샤드 수는 point.concurrency.sharded.shards 로 설정한다. (0 이하면 CPU 코어 수)
+ * - 지표: point.shard.queue.depth (샤드 큐에 쌓인 요청 수), point.shard.busy (샤드 스레드가 요청을 처리한 누적 시간, rate 가 곧 사용률)
+ */
+@Component
+@ConditionalOnProperty(name = "point.concurrency.mode", havingValue = "sharded")
+public class ShardedPointUpdater implements PointUpdater {
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final Shard[] shards;
+    private final long startedAt = System.nanoTime();
+
+    public ShardedPointUpdater(UserPointRepository userPointRepository,
+                               PointHistoryWriter pointHistoryWriter,
+                               MeterRegistry meterRegistry,
+                               @Value("${point.concurrency.sharded.shards:0}") int shardCount,
+                               @Value("${point.concurrency.sharded.max-cached-users:100000}") int maxCachedUsers) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.shards = new Shard[(shardCount > 0) ? shardCount : Runtime.getRuntime().availableProcessors()];
+        int maxCachedUsersPerShard = Math.max(1, (maxCachedUsers + shards.length - 1) / shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = new Shard(i, maxCachedUsersPerShard);
+            shards[i] = shard;
+            String tag = String.valueOf(i);
+            Gauge.builder("point.shard.queue.depth", shard, s -> s.executor.getQueue().size()).tag("shard", tag).register(meterRegistry);
+            FunctionCounter.builder("point.shard.busy", shard, s -> s.busyNanos.sum() / 1e9).tag("shard", tag).baseUnit("seconds").register(meterRegistry);
+        }
+    }
+
+    @Override
+    public UserPoint update(long userId, long amount, TransactionType type) {
+        return submit(userId, amount, type).await();
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> updateAsync(long userId, long amount, TransactionType type) {
+        return submit(userId, amount, type).result();
+    }
+
+    /**
+     * 샤드별 큐 길이, 처리 건수, 시작 이후 사용률(처리에 쓴 시간 / 경과 시간)
+     */
+    public List<ShardStats> shardStats() {
+        long elapsed = Math.max(1, System.nanoTime() - startedAt);
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            stats.add(new ShardStats(shard.index, shard.executor.getQueue().size(), shard.executor.getCompletedTaskCount(),
+                    (double) shard.busyNanos.sum() / elapsed));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            shard.executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private PointCommand submit(long userId, long amount, TransactionType type) {
+        PointCommand command = new PointCommand(amount, type);
+        Shard shard = shards[(int) Math.floorMod((userId * 0x9E3779B97F4A7C15L) >>> 32, (long) shards.length)];
+        try {
+            shard.executor.execute(() -> shard.apply(userId, command));
+        } catch (RejectedExecutionException e) {
+            command.result().completeExceptionally(new IllegalStateException("포인트 샤드가 종료되었습니다.", e));
+        }
+        return command;
+    }
+
+    public record ShardStats(int shard, int queueDepth, long completedTasks, double utilization) {
+    }
+
+    /**
+     * 샤드 하나
+     * - balances 는 샤드 스레드에서만 읽고 쓴다. (접근 순서 LinkedHashMap 으로 maxCachedUsers 명까지만 보관)
+     */
+    private final class Shard {
+
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final Map<Long, Long> balances;
+        private final LongAdder busyNanos = new LongAdder();
+
+        private Shard(int index, int maxCachedUsers) {
+            this.index = index;
+            this.balances = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > maxCachedUsers;
+                }
+            };
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> new Thread(runnable, "point-shard-" + index));
+        }
+
+        private void apply(long userId, PointCommand command) {
+            long startedAt = System.nanoTime();
+            try {
+                Long cached = balances.get(userId);
+                long point = (cached != null) ? cached : userPointRepository.selectById(userId).point();
+                long updatePoint = PointPolicy.apply(point, command.amount(), command.type());
+
+                pointHistoryWriter.write(userId, command.amount(), command.type(), System.currentTimeMillis());
+                UserPoint persisted = userPointRepository.insertOrUpdate(userId, updatePoint);
+                balances.put(userId, updatePoint);
+                command.result().complete(persisted);
+            } catch (IllegalArgumentException e) {
+                command.result().completeExceptionally(e);
+            } catch (RuntimeException e) {
+                // 저장 도중 실패하면 저장소와 어긋났을 수 있으므로 다음 요청에서 저장소를 다시 읽는다.
+                balances.remove(userId);
+                command.result().completeExceptionally(e);
+            } catch (Error e) {
+                // Error 로 빠져나가도 결과를 완료해야 기다리는 요청이 멈추지 않는다.
+                balances.remove(userId);
+                command.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                busyNanos.add(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
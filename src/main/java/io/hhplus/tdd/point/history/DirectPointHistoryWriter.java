@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 호출한 스레드에서 바로 내역을 저장한다. (point.history.write-mode=direct, 기본값)
+ * - 충전/사용 응답 시점에 내역 조회에도 반영되어 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.write-mode", havingValue = "direct", matchIfMissing = true)
+public class DirectPointHistoryWriter implements PointHistoryWriter {
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    public DirectPointHistoryWriter(PointHistoryRepository pointHistoryRepository) {
+        this.pointHistoryRepository = pointHistoryRepository;
+    }
+
+    @Override
+    public void write(long userId, long amount, TransactionType type, long updateMillis) {
+        pointHistoryRepository.insert(userId, amount, type, updateMillis);
+    }
+}
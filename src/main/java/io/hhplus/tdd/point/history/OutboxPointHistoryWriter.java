@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.point.PendingPointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 아웃박스를 거쳐 백그라운드에서 내역을 저장한다. (point.history.write-mode=outbox)
+ * - 충전/사용 스레드는 고정 크기 링 버퍼(ArrayBlockingQueue)에 내역을 넣고 바로 돌아가므로, 응답 시간에 내역 저장 시간이 포함되지 않는다.
+ * - 백그라운드 스레드가 버퍼에 쌓인 내역을 최대 point.history.outbox.batch-size 건씩 꺼내 insertAll 로 한 번에 저장한다. (저장 지연은 배치마다 한 번)
+ * - 버퍼가 가득 차면 빈 자리가 생길 때까지 호출 스레드를 대기시킨다. (back-pressure)
+ * - 저장에 실패한 배치는 버리지 않고 retry-initial-backoff-millis 부터 두 배씩(최대 retry-max-backoff-millis) 기다리며 성공할 때까지 다시 저장한다.
+ *   그동안 버퍼는 비워지지 않으므로, 가득 차면 새 내역 기록도 대기한다.
+ * - 애플리케이션 종료 시 새 내역은 받지 않고, 버퍼에 남은 내역을 모두 저장한 뒤 종료한다.
+ *   (종료 여부 확인과 버퍼 추가를 읽기 락으로 묶어, 종료 직전에 들어온 내역이 저장되지 않은 채 남지 않음)
+ * - shutdown-timeout-millis 안에 모두 저장하지 못하면 재시도를 멈추고, 저장하지 못한 내역 수를 에러 로그로 남긴다.
+ * - 내역 저장이 비동기이므로 충전/사용 직후의 내역 조회에는 아직 반영되지 않았을 수 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.write-mode", havingValue = "outbox")
+public class OutboxPointHistoryWriter implements PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPointHistoryWriter.class);
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BlockingQueue<PendingPointHistory> buffer;
+    private final int batchSize;
+    private final long retryInitialBackoffMillis;
+    private final long retryMaxBackoffMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread flusher;
+
+    // 버퍼에서 꺼냈지만 아직 저장하지 못한 배치의 내역 수
+    private volatile int unflushed;
+
+    // write 는 읽기 락, shutdown 은 쓰기 락을 잡으므로 running 이 false 가 된 뒤에는 버퍼에 새 내역이 들어오지 않는다.
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public OutboxPointHistoryWriter(PointHistoryRepository pointHistoryRepository,
+                                    @Value("${point.history.outbox.capacity:10000}") int capacity,
+                                    @Value("${point.history.outbox.batch-size:500}") int batchSize,
+                                    @Value("${point.history.outbox.retry-initial-backoff-millis:100}") long retryInitialBackoffMillis,
+                                    @Value("${point.history.outbox.retry-max-backoff-millis:5000}") long retryMaxBackoffMillis,
+                                    @Value("${point.history.outbox.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.flusher = new Thread(this::flushLoop, "point-history-outbox");
+        this.flusher.start();
+    }
+
+    @Override
+    public void write(long userId, long amount, TransactionType type, long updateMillis) {
+        shutdownLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("포인트 이용 내역 아웃박스가 종료되었습니다.");
+            }
+            // 버퍼가 가득 차 기다리는 동안에도 백그라운드 스레드는 계속 비우므로 shutdown 이 무한히 기다리지 않는다.
+            buffer.put(new PendingPointHistory(userId, amount, type, updateMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 이용 내역 기록 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 아직 저장되지 않은 내역 수 (버퍼에 남은 내역 + 저장을 다시 시도 중인 배치)
+     */
+    public int pendingCount() {
+        return buffer.size() + unflushed;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        flusher.join(shutdownTimeoutMillis);
+        if (flusher.isAlive()) {
+            // 재시도 대기 중인 백그라운드 스레드를 깨워 멈추게 한다.
+            flusher.interrupt();
+            flusher.join();
+            log.error("포인트 이용 내역 아웃박스 종료 시간 초과 - 저장하지 못한 내역 {} 건", pendingCount());
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingPointHistory> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingPointHistory first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                unflushed = batch.size();
+                flush(List.copyOf(batch));
+                unflushed = 0;
+                batch.clear();
+            } catch (InterruptedException e) {
+                // shutdown 이 기다리다 포기한 경우이므로, 남은 내역은 pendingCount 로 남겨 두고 멈춘다.
+                return;
+            }
+        }
+    }
+
+    // 성공할 때까지 같은 배치를 다시 저장한다. (대기 중 인터럽트되면 InterruptedException)
+    private void flush(List<PendingPointHistory> batch) throws InterruptedException {
+        long backoffMillis = retryInitialBackoffMillis;
+        while (true) {
+            try {
+                pointHistoryRepository.insertAll(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("포인트 이용 내역 저장 실패, {}ms 뒤 다시 시도 - {} 건, 첫 내역: {}", backoffMillis, batch.size(), batch.get(0), e);
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, retryMaxBackoffMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 충전/사용 시 포인트 이용 내역을 남기는 방식
+ * - point.history.write-mode 설정값으로 구현체를 선택한다. (기본값: direct)
+ */
+public interface PointHistoryWriter {
+
+    /**
+     * 포인트 이용 내역 한 건을 기록한다.
+     */
+    void write(long userId, long amount, TransactionType type, long updateMillis);
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * (유저, Idempotency-Key) 별 충전/사용 결과 캐시
+ * - 키는 유저마다 따로 보므로, 다른 유저가 우연히 같은 Idempotency-Key 를 써도 서로의 결과를 받거나 거절당하지 않는다.
+ * - 처음 온 요청만 실행하고, 같은 키의 재시도에는 저장된 결과(Future)를 그대로 돌려준다. (테이블과 유저 락을 거치지 않음)
+ * - 처리 중에 재시도가 와도 같은 Future 를 기다리므로 한 번만 반영된다.
+ * - 실패한 요청은 포인트를 바꾸지 않으므로 결과를 남기지 않는다. (같은 키로 다시 시도할 수 있음)
+ * - 결과는 point.idempotency.ttl-seconds 동안 보관하고, 최대 point.idempotency.maximum-size 건을 넘으면 처리가 끝난 가장 오래된 키부터 지운다.
+ * - 처리 중인 키는 지우지 않는다. (지우면 재시도가 한 번 더 반영된다) 모든 키가 처리 중이면 새 키는 429 로 거절한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // 삽입 순서 = 만료 순서 (TTL 이 모두 같으므로), 맵 조작은 이 맵의 모니터 안에서만 한다.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyCache(@Value("${point.idempotency.maximum-size:100000}") int maximumSize,
+                            @Value("${point.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this(maximumSize, Duration.ofSeconds(ttlSeconds), System::nanoTime);
+    }
+
+    IdempotencyCache(int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 요청한 유저의 키에 저장된 결과가 있으면 그 결과를, 없으면 요청을 실행한 결과를 돌려준다.
+     */
+    public CompletableFuture<UserPoint> execute(String idempotencyKey, IdempotentRequest request, Supplier<CompletableFuture<UserPoint>> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    String.format("Idempotency-Key 는 1 ~ %d 자여야 합니다.", MAX_KEY_LENGTH)));
+        }
+
+        Key key = new Key(request.userId(), idempotencyKey);
+        Entry entry;
+        synchronized (entries) {
+            long now = nanoClock.getAsLong();
+            evictExpired(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.request().equals(request)) {
+                    return CompletableFuture.failedFuture(new IllegalArgumentException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."));
+                }
+                return existing.result();
+            }
+            if (entries.size() >= maximumSize && !evictEldestCompleted()) {
+                return CompletableFuture.failedFuture(new AdmissionRejectedException(AdmissionRejectedException.Reason.IDEMPOTENCY_IN_FLIGHT));
+            }
+            entry = new Entry(request, new CompletableFuture<>(), now + ttlNanos);
+            entries.put(key, entry);
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, throwable) -> {
+            if (throwable == null) {
+                entry.result().complete(userPoint);
+                return;
+            }
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(throwable);
+        });
+        return entry.result();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt() - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 처리가 끝난 가장 오래된 키 하나를 지운다. (처리 중인 키만 남아 있으면 false)
+     */
+    private boolean evictEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(IdempotentRequest request, CompletableFuture<UserPoint> result, long expiresAt) {
+    }
+}
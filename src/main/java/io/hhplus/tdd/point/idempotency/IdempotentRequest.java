@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * Idempotency-Key 로 묶인 요청의 내용
+ * - 같은 키로 내용이 다른 요청이 오면 재시도가 아니므로 거절한다.
+ */
+public record IdempotentRequest(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
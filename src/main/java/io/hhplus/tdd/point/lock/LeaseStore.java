@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.lock;
+
+import java.time.Duration;
+
+/**
+ * 노드 사이에서 공유하는 lease 저장소
+ * - 키 하나에 lease 하나만 기록되고, 기록은 lease 시간이 지나면 저절로 사라진다.
+ * - 획득할 때마다 키별로 커지는 fencing token 을 발급하고, 연장/해제는 저장된 token 과 같을 때만 반영된다.
+ *   (lease 가 만료된 뒤 다른 노드가 잡은 락을 늦게 깨어난 옛 소유자가 연장하거나 지우지 못함)
+ */
+public interface LeaseStore {
+
+    /**
+     * 키에 lease 가 없으면 lease 시간만큼 기록하고 이번 획득의 fencing token(1 이상)을 반환한다.
+     * - 이미 다른 lease 가 있으면 0 을 반환한다.
+     */
+    long tryAcquire(String key, Duration lease);
+
+    /**
+     * 키의 lease 가 token 으로 획득한 것이면 lease 시간을 다시 채우고 true 를 반환한다.
+     */
+    boolean renew(String key, long token, Duration lease);
+
+    /**
+     * 키의 lease 가 token 으로 획득한 것이면 기록을 지운다.
+     */
+    void release(String key, long token);
+}
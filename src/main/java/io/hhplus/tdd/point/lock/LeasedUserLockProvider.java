@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 노드 사이에서도 유효한 유저 단위 락 (point.lock.provider=distributed)
+ * - 유저마다 공유 저장소(LeaseStore)의 lease 와 노드 안의 공정 ReentrantLock 을 함께 잡는다.
+ * - lease 는 작업이 끝나도 바로 반납하지 않고 노드가 들고 있으므로, 같은 노드의 다음 요청은 네트워크 왕복 없이 로컬 락만 잡는다.
+ * - 남은 lease 가 point.lock.lease.renew-before-millis 보다 짧으면 작업 전에 연장하고, 작업 중에도 백그라운드에서 연장한다.
+ *   (그룹 커밋처럼 lease 시간보다 오래 걸리는 작업 도중에 다른 노드가 lease 를 잡지 못함)
+ * - 연장/반납은 획득할 때 받은 fencing token 으로 하므로, 연장에 실패해 lease 를 잃은 노드는 다른 노드의 lease 를 건드리지 못한다.
+ * - point.lock.lease.idle-release-millis 동안 쓰이지 않은 lease 는 백그라운드에서 반납해 다른 노드가 잡을 수 있게 한다.
+ * - 한 유저의 요청이 계속 몰리는 노드는 lease 를 계속 들고 있으므로, 유저별로 요청을 한 노드로 모으는 라우팅(point.cluster)과 함께 쓰는 것을 전제로 한다.
+ * - lease 를 새로 획득하면(reused/renewed 가 아니면) 그 사이 다른 노드가 포인트를 바꿨을 수 있으므로 UserPointRepository 의 캐시를 비운다.
+ * - 지표: point.lock.lease (result 태그 - reused: 왕복 없이 재사용, renewed: 연장, acquired: 새로 획득)
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "distributed")
+public class LeasedUserLockProvider implements UserLockProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedUserLockProvider.class);
+
+    // Redis Cluster 에서도 lease 와 fencing token 카운터가 같은 슬롯에 놓이도록 유저 ID 를 해시 태그로 감싼다.
+    private static final String KEY_PREFIX = "point:lock:user:{";
+    private static final long RETRY_INTERVAL_MILLIS = 10L;
+
+    private final LeaseStore leaseStore;
+    private final UserPointRepository userPointRepository;
+    private final Duration leaseDuration;
+    private final long renewBeforeNanos;
+    private final long idleReleaseNanos;
+    private final long acquireTimeoutNanos;
+
+    private final ConcurrentHashMap<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+    private final Counter reused;
+    private final Counter renewed;
+    private final Counter acquired;
+
+    public LeasedUserLockProvider(LeaseStore leaseStore, UserPointRepository userPointRepository, MeterRegistry meterRegistry,
+                                  @Value("${point.lock.lease.lease-millis:10000}") long leaseMillis,
+                                  @Value("${point.lock.lease.renew-before-millis:3000}") long renewBeforeMillis,
+                                  @Value("${point.lock.lease.idle-release-millis:200}") long idleReleaseMillis,
+                                  @Value("${point.lock.lease.acquire-timeout-millis:5000}") long acquireTimeoutMillis) {
+        this.leaseStore = leaseStore;
+        this.userPointRepository = userPointRepository;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.renewBeforeNanos = TimeUnit.MILLISECONDS.toNanos(renewBeforeMillis);
+        this.idleReleaseNanos = TimeUnit.MILLISECONDS.toNanos(idleReleaseMillis);
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.reused = meterRegistry.counter("point.lock.lease", "result", "reused");
+        this.renewed = meterRegistry.counter("point.lock.lease", "result", "renewed");
+        this.acquired = meterRegistry.counter("point.lock.lease", "result", "acquired");
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-lock-lease-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepIntervalMillis = Math.max(10L, idleReleaseMillis / 2);
+        sweeper.scheduleWithFixedDelay(this::releaseIdleLeases, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        long renewIntervalMillis = Math.max(10L, renewBeforeMillis / 3);
+        sweeper.scheduleWithFixedDelay(this::renewActiveLeases, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> task) {
+        Lease lease = retain(userId);
+        lease.lock.lock();
+        try {
+            ensureLease(userId, lease);
+            try {
+                return task.get();
+            } finally {
+                lease.lastUsedAt = System.nanoTime();
+            }
+        } finally {
+            lease.lock.unlock();
+            release(userId);
+        }
+    }
+
+    /**
+     * idle-release-millis 동안 쓰이지 않았거나 만료된 lease 를 반납한다. (백그라운드에서 주기적으로 호출됨)
+     */
+    public void releaseIdleLeases() {
+        long now = System.nanoTime();
+        leases.forEach((userId, lease) -> {
+            // 작업 중인 lease 는 건너뛴다.
+            if (!lease.lock.tryLock()) {
+                return;
+            }
+            try {
+                if (lease.held && (now - lease.lastUsedAt >= idleReleaseNanos || lease.expiresAt - now <= 0)) {
+                    releaseLease(userId, lease);
+                }
+            } finally {
+                lease.lock.unlock();
+            }
+            leases.computeIfPresent(userId, (id, current) -> (current.holders == 0 && !current.held) ? null : current);
+        });
+    }
+
+    /**
+     * 작업 중인 lease 가운데 남은 시간이 renew-before-millis 보다 짧은 것을 연장한다. (백그라운드에서 주기적으로 호출됨)
+     * - 연장에 실패하면 다음 작업이 ensureLease 에서 다시 획득한다.
+     */
+    public void renewActiveLeases() {
+        leases.forEach((userId, lease) -> {
+            if (!lease.lock.isLocked() || !lease.held) {
+                return;
+            }
+            long token = lease.token;
+            long requestedAt = System.nanoTime();
+            if (lease.expiresAt - requestedAt > renewBeforeNanos) {
+                return;
+            }
+            try {
+                if (leaseStore.renew(key(userId), token, leaseDuration)) {
+                    lease.expiresAt = requestedAt + leaseDuration.toNanos();
+                    renewed.increment();
+                } else {
+                    log.warn("작업 중인 유저 락 lease 연장 실패 - userId: {}, token: {}", userId, token);
+                }
+            } catch (RuntimeException e) {
+                log.warn("작업 중인 유저 락 lease 연장 실패 - userId: {}, token: {}", userId, token, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        sweeper.shutdownNow();
+        leases.forEach((userId, lease) -> {
+            lease.lock.lock();
+            try {
+                if (lease.held) {
+                    releaseLease(userId, lease);
+                }
+            } finally {
+                lease.lock.unlock();
+            }
+        });
+    }
+
+    // 로컬 락을 잡은 상태에서 호출된다.
+    private void ensureLease(long userId, Lease lease) {
+        long now = System.nanoTime();
+        if (lease.held) {
+            long remaining = lease.expiresAt - now;
+            if (remaining > renewBeforeNanos) {
+                reused.increment();
+                return;
+            }
+            if (remaining > 0 && leaseStore.renew(key(userId), lease.token, leaseDuration)) {
+                lease.expiresAt = now + leaseDuration.toNanos();
+                renewed.increment();
+                return;
+            }
+            lease.held = false;
+        }
+        acquire(userId, lease);
+    }
+
+    private void acquire(long userId, Lease lease) {
+        long deadline = System.nanoTime() + acquireTimeoutNanos;
+        while (true) {
+            // 요청을 보내기 전 시각부터 lease 를 세므로, 노드가 아는 만료 시각은 실제보다 늦지 않다.
+            long requestedAt = System.nanoTime();
+            long token = leaseStore.tryAcquire(key(userId), leaseDuration);
+            if (token > 0) {
+                lease.token = token;
+                lease.held = true;
+                lease.expiresAt = requestedAt + leaseDuration.toNanos();
+                acquired.increment();
+                userPointRepository.evict(userId);
+                return;
+            }
+            if (requestedAt - deadline >= 0) {
+                throw new IllegalStateException("유저 락을 획득하지 못했습니다. userId: " + userId);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("유저 락 획득 중 인터럽트가 발생했습니다.", e);
+            }
+        }
+    }
+
+    private void releaseLease(long userId, Lease lease) {
+        lease.held = false;
+        try {
+            leaseStore.release(key(userId), lease.token);
+        } catch (RuntimeException e) {
+            // 반납에 실패해도 lease 시간이 지나면 저절로 풀린다.
+            log.warn("유저 락 lease 반납 실패 - userId: {}", userId, e);
+        }
+    }
+
+    private String key(long userId) {
+        return KEY_PREFIX + userId + "}";
+    }
+
+    // compute 는 키 단위로 원자적으로 실행되므로 holders 증감은 별도 동기화가 필요 없다.
+    private Lease retain(long userId) {
+        return leases.compute(userId, (id, lease) -> {
+            Lease retained = (lease == null) ? new Lease() : lease;
+            retained.holders++;
+            return retained;
+        });
+    }
+
+    // lease 를 들고 있는 동안에는 엔트리를 남겨 두고, 반납은 releaseIdleLeases 가 맡는다.
+    private void release(long userId) {
+        leases.computeIfPresent(userId, (id, lease) -> (--lease.holders == 0 && !lease.held) ? null : lease);
+    }
+
+    /**
+     * 유저 한 명의 lease 상태
+     * - held, token, lastUsedAt 은 lock 을 잡은 상태에서만 바꾼다.
+     * - expiresAt 은 작업 중 연장(renewActiveLeases)에서도 바꾸므로, 백그라운드에서 읽는 필드와 함께 volatile 로 둔다.
+     */
+    private static final class Lease {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int holders;
+        private volatile boolean held;
+        private volatile long token;
+        private volatile long expiresAt;
+        private long lastUsedAt;
+    }
+}
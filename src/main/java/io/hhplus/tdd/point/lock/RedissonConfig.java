@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.lock.redis 설정으로 분산 락용 Redisson 클라이언트를 만든다. (point.lock.provider=distributed)
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "distributed")
+public class RedissonConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RedissonClient redissonClient(@Value("${point.lock.redis.address:redis://localhost:6379}") String address,
+                                         @Value("${point.lock.redis.connection-pool-size:64}") int connectionPoolSize) {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress(address)
+                .setConnectionPoolSize(connectionPoolSize)
+                .setConnectionMinimumIdleSize(Math.min(8, connectionPoolSize));
+        return Redisson.create(config);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 에 lease 를 기록하는 LeaseStore (point.lock.provider=distributed)
+ * - 획득은 키가 없을 때만 fencing token 을 INCR 로 올린 뒤 SET PX 하고, 연장/해제는 token 을 비교한 뒤 반영하는 Lua 스크립트로 한 번의 왕복에 원자적으로 처리한다.
+ * - token 카운터는 "{키}:fence" 에 두고 만료시키지 않으므로, 같은 유저의 token 은 lease 가 바뀌어도 계속 커진다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "distributed")
+public class RedissonLeaseStore implements LeaseStore {
+
+    private static final String ACQUIRE_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end "
+                    + "local token = redis.call('incr', KEYS[2]) "
+                    + "redis.call('set', KEYS[1], token, 'px', ARGV[1]) "
+                    + "return token";
+    private static final String RENEW_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end";
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private final RedissonClient redissonClient;
+
+    public RedissonLeaseStore(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    public long tryAcquire(String key, Duration lease) {
+        Long token = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, ACQUIRE_SCRIPT, RScript.ReturnType.INTEGER, List.of(key, key + ":fence"), String.valueOf(lease.toMillis()));
+        return (token == null) ? 0L : token;
+    }
+
+    @Override
+    public boolean renew(String key, long token, Duration lease) {
+        return redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.BOOLEAN, List.of(key), String.valueOf(token), String.valueOf(lease.toMillis()));
+    }
+
+    @Override
+    public void release(String key, long token) {
+        redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.BOOLEAN, List.of(key), String.valueOf(token));
+    }
+}
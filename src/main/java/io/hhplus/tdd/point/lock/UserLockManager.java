@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 락 관리자 (point.lock.provider=local, 기본값)
+ * - 유저 ID 마다 공정(fair) 모드의 ReentrantLock 을 할당해 동일 유저의 요청은 도착 순서대로 처리한다.
+ * - 서로 다른 유저의 요청은 서로를 기다리지 않는다.
+ * - 락을 기다리거나 보유 중인 스레드가 없어지면 엔트리를 제거해 맵이 무한히 커지지 않도록 한다.
+ * - 지표: point.lock.wait (락 획득 대기 시간), point.lock.queue.depth (락을 기다리는 스레드 수), point.lock.active (관리 중인 락 수)
+ */
+@Component
+@ConditionalOnProperty(name = "point.lock.provider", havingValue = "local", matchIfMissing = true)
+public class UserLockManager implements UserLockProvider {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final Timer lockWaitTimer;
+
+    public UserLockManager(MeterRegistry meterRegistry) {
+        this.lockWaitTimer = meterRegistry.timer("point.lock.wait");
+        Gauge.builder("point.lock.queue.depth", this, UserLockManager::queuedThreadCount).register(meterRegistry);
+        Gauge.builder("point.lock.active", this, UserLockManager::activeLockCount).register(meterRegistry);
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> task) {
+        LockEntry entry = retain(userId);
+        long waitStartedAt = System.nanoTime();
+        entry.lock.lock();
+        lockWaitTimer.record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+        try {
+            return task.get();
+        } finally {
+            entry.lock.unlock();
+            release(userId);
+        }
+    }
+
+    /**
+     * 현재 관리 중인(대기 또는 보유 중인 스레드가 있는) 유저 락의 수
+     */
+    public int activeLockCount() {
+        return locks.size();
+    }
+
+    /**
+     * 유저 락을 기다리고 있는 스레드 수의 합 (getQueueLength 는 추정치이므로 모니터링 용도로만 사용한다)
+     */
+    public int queuedThreadCount() {
+        return locks.values().stream().mapToInt(entry -> entry.lock.getQueueLength()).sum();
+    }
+
+    // compute 는 키 단위로 원자적으로 실행되므로 holders 증감은 별도 동기화가 필요 없다.
+    private LockEntry retain(long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry retained = (entry == null) ? new LockEntry() : entry;
+            retained.holders++;
+            return retained;
+        });
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int holders;
+    }
+}
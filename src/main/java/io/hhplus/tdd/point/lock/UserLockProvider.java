@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 락
+ * - point.lock.provider 설정값으로 구현체를 선택한다. (기본값: local)
+ * - local : JVM 안의 유저별 ReentrantLock (UserLockManager), 서버가 한 대일 때만 안전하다.
+ * - distributed : 공유 저장소(Redis)의 유저별 lease 와 노드 안의 유저별 락을 함께 잡는다. (LeasedUserLockProvider)
+ */
+public interface UserLockProvider {
+
+    /**
+     * 유저 락을 획득한 상태에서 작업을 실행하고, 작업이 끝나면 락을 반납한다.
+     */
+    <T> T executeWithLock(long userId, Supplier<T> task);
+}
@@ -0,0 +1,235 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 JVM 안에 노드 3개를 띄워 요청이 담당 노드로 전달되는지 확인한다.
+ */
+class ClusterRoutingTest {
+
+    private static final int NODE_COUNT = 3;
+    private static final String SECRET = "cluster-routing-test";
+
+    private static final List<String> nodes = new ArrayList<>();
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports.add(socket.getLocalPort());
+            }
+        }
+        ports.forEach(port -> nodes.add("http://localhost:" + port));
+
+        for (int i = 0; i < NODE_COUNT; i++) {
+            contexts.add(new SpringApplicationBuilder(TddApplication.class).run(
+                    "--server.port=" + ports.get(i),
+                    "--point.table.latency.profile=zero",
+                    "--point.cluster.enabled=true",
+                    "--point.cluster.self=" + nodes.get(i),
+                    "--point.cluster.secret=" + SECRET,
+                    "--point.cluster.nodes=" + String.join(",", nodes)));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("아무 노드로 보낸 충전 요청도 담당 노드에만 반영되고, 다른 노드에서 조회해도 같은 포인트가 보인다")
+    void charge_routedToOwner() throws Exception {
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+
+        for (long userId = 1; userId <= 30; userId++) {
+            // when - 첫 번째 노드로 충전하고 세 번째 노드로 조회한다
+            HttpResponse<String> charged = send(nodes.get(0), HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/" + userId + "/charge"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(userId * 100))));
+            HttpResponse<String> point = send(nodes.get(2), HttpRequest.newBuilder(URI.create(nodes.get(2) + "/point/" + userId)).GET());
+
+            // then
+            assertEquals(200, charged.statusCode());
+            assertEquals(200, point.statusCode());
+            assertTrue(point.body().contains("\"point\":" + userId * 100), point.body());
+
+            int owner = nodes.indexOf(clusterMembership.ownerOf(userId));
+            for (int i = 0; i < NODE_COUNT; i++) {
+                long stored = contexts.get(i).getBean(UserPointRepository.class).selectById(userId).point();
+                assertEquals((i == owner) ? userId * 100 : 0L, stored);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("담당 노드에서 거절된 요청은 받은 노드에서도 같은 에러로 응답한다")
+    void use_rejectedByOwner() throws Exception {
+        // given - 첫 번째 노드가 담당하지 않는 유저
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = 1_000L;
+        while (clusterMembership.isLocal(userId)) {
+            userId++;
+        }
+
+        // when
+        HttpResponse<String> response = send(nodes.get(0), HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/" + userId + "/use"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("1000")));
+
+        // then
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("\"code\":\"400\""), response.body());
+    }
+
+    @Test
+    @DisplayName("구성원이 아닌 쪽이 보낸 전달 헤더는 믿지 않고 403 으로 거절한다")
+    void forwardedHeader_withoutSignature_rejected() throws Exception {
+        // given - 두 번째 노드가 담당하는 유저
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = ownedBy(clusterMembership, nodes.get(1));
+
+        // when - 담당 노드에 서명 없이 다른 노드가 전달한 것처럼 보낸다
+        HttpResponse<String> response = send(nodes.get(1), HttpRequest.newBuilder(URI.create(nodes.get(1) + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(PointRoutingFilter.FORWARDED_BY_HEADER, nodes.get(0))
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("1000")));
+
+        // then
+        assertEquals(403, response.statusCode());
+        assertEquals(0L, contexts.get(1).getBean(UserPointRepository.class).selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("담당이 아닌 노드로 전달된 요청은 처리하지 않고 421 로 거절한다")
+    void forwardedToNonOwner_misdirected() throws Exception {
+        // given - 첫 번째 노드가 담당하지 않는 유저
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = ownedBy(clusterMembership, nodes.get(1));
+
+        // when - 올바른 서명으로 담당이 아닌 첫 번째 노드에 전달한다
+        HttpResponse<String> response = send(nodes.get(0), signed(HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json"), "PATCH", "/point/" + userId + "/charge", nodes.get(2), "1000"));
+
+        // then
+        assertEquals(421, response.statusCode());
+        assertEquals(0L, contexts.get(0).getBean(UserPointRepository.class).selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("서명이 요청 본문과 맞지 않는 전달은 403 으로 거절한다")
+    void forwardedWithTamperedBody_rejected() throws Exception {
+        // given - 두 번째 노드가 담당하는 유저
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = ownedBy(clusterMembership, nodes.get(1));
+        long timestamp = System.currentTimeMillis();
+        String signature = PointRoutingFilter.sign(SECRET.getBytes(StandardCharsets.UTF_8), "PATCH", "/point/" + userId + "/charge",
+                nodes.get(0), timestamp, "1000".getBytes(StandardCharsets.UTF_8));
+
+        // when - 1000 에 대한 서명으로 다른 금액을 보낸다
+        HttpResponse<String> response = send(nodes.get(1), HttpRequest.newBuilder(URI.create(nodes.get(1) + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(PointRoutingFilter.FORWARDED_BY_HEADER, nodes.get(0))
+                .header(PointRoutingFilter.CLUSTER_TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(PointRoutingFilter.CLUSTER_SIGNATURE_HEADER, signature)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("999999")));
+
+        // then
+        assertEquals(403, response.statusCode());
+        assertEquals(0L, contexts.get(1).getBean(UserPointRepository.class).selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("한 노드가 담당하는 유저들의 일괄 요청은 그 노드로 전달되어 반영된다")
+    void bulk_singleOwner_routedToOwner() throws Exception {
+        // given - 두 번째 노드가 담당하는 유저 두 명
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long first = ownedBy(clusterMembership, nodes.get(1), 20_000L);
+        long second = ownedBy(clusterMembership, nodes.get(1), first + 1);
+        String body = "[{\"userId\":" + first + ",\"amount\":100,\"type\":\"CHARGE\"},"
+                + "{\"userId\":" + second + ",\"amount\":200,\"type\":\"CHARGE\"}]";
+
+        // when - 첫 번째 노드로 보낸다
+        HttpResponse<String> response = send(nodes.get(0), HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+
+        // then
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals(100L, contexts.get(1).getBean(UserPointRepository.class).selectById(first).point());
+        assertEquals(200L, contexts.get(1).getBean(UserPointRepository.class).selectById(second).point());
+        assertEquals(0L, contexts.get(0).getBean(UserPointRepository.class).selectById(first).point());
+    }
+
+    @Test
+    @DisplayName("담당 노드가 여럿인 일괄 요청은 처리하지 않고 421 로 거절한다")
+    void bulk_multipleOwners_misdirected() throws Exception {
+        // given - 서로 다른 노드가 담당하는 유저
+        ClusterMembership clusterMembership = contexts.get(0).getBean(ClusterMembership.class);
+        long first = ownedBy(clusterMembership, nodes.get(0), 30_000L);
+        long second = ownedBy(clusterMembership, nodes.get(1), 30_000L);
+        String body = "[{\"userId\":" + first + ",\"amount\":100,\"type\":\"CHARGE\"},"
+                + "{\"userId\":" + second + ",\"amount\":100,\"type\":\"CHARGE\"}]";
+
+        // when
+        HttpResponse<String> response = send(nodes.get(0), HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+
+        // then
+        assertEquals(421, response.statusCode());
+        for (ConfigurableApplicationContext context : contexts) {
+            assertEquals(0L, context.getBean(UserPointRepository.class).selectById(first).point());
+            assertEquals(0L, context.getBean(UserPointRepository.class).selectById(second).point());
+        }
+    }
+
+    private long ownedBy(ClusterMembership clusterMembership, String node) {
+        return ownedBy(clusterMembership, node, 10_000L);
+    }
+
+    private long ownedBy(ClusterMembership clusterMembership, String node, long from) {
+        long userId = from;
+        while (!node.equals(clusterMembership.ownerOf(userId))) {
+            userId++;
+        }
+        return userId;
+    }
+
+    private HttpRequest.Builder signed(HttpRequest.Builder request, String method, String path, String forwardedBy, String body) {
+        long timestamp = System.currentTimeMillis();
+        String signature = PointRoutingFilter.sign(SECRET.getBytes(StandardCharsets.UTF_8), method, path, forwardedBy, timestamp,
+                body.getBytes(StandardCharsets.UTF_8));
+        return request
+                .header(PointRoutingFilter.FORWARDED_BY_HEADER, forwardedBy)
+                .header(PointRoutingFilter.CLUSTER_TIMESTAMP_HEADER, String.valueOf(timestamp))
+                .header(PointRoutingFilter.CLUSTER_SIGNATURE_HEADER, signature)
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpResponse<String> send(String node, HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
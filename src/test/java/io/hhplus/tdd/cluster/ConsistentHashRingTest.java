@@ -0,0 +1,66 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 100_000;
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(List.of("http://a", "http://b", "http://c"), 160);
+
+    @Test
+    @DisplayName("가상 노드 덕분에 유저가 노드마다 고르게 나뉜다")
+    void ownerOf_balanced() {
+        // when
+        Map<String, Integer> owned = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            owned.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then - 노드당 기대치(1/3)에서 크게 벗어나지 않는다
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(Math.abs(count - USERS / 3) < USERS / 10, "치우친 분배: " + owned));
+    }
+
+    @Test
+    @DisplayName("노드가 들어오면 새 노드로 가는 유저만 담당 노드가 바뀐다")
+    void with_movesOnlyToJoinedNode() {
+        // given
+        ConsistentHashRing joined = ring.with("http://d");
+
+        // when & then
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String before = ring.ownerOf(userId);
+            String after = joined.ownerOf(userId);
+            if (!before.equals(after)) {
+                assertEquals("http://d", after);
+                moved++;
+            }
+        }
+        assertTrue(moved > USERS / 8 && moved < USERS / 3, "옮겨간 유저 수: " + moved);
+    }
+
+    @Test
+    @DisplayName("노드가 나가면 그 노드가 담당하던 유저만 담당 노드가 바뀐다")
+    void without_movesOnlyFromLeftNode() {
+        // given
+        ConsistentHashRing left = ring.without("http://b");
+
+        // when & then
+        for (long userId = 1; userId <= USERS; userId++) {
+            String before = ring.ownerOf(userId);
+            if (!before.equals("http://b")) {
+                assertEquals(before, left.ownerOf(userId));
+            }
+        }
+        assertEquals(2, left.nodes().size());
+    }
+}
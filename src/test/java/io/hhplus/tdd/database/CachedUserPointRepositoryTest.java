@@ -0,0 +1,108 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserPointRepositoryTest {
+
+    @Mock
+    private UserPointRepository userPointStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedUserPointRepository userPointRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userPointRepository = new CachedUserPointRepository(userPointStore, meterRegistry, 2);
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 저장소을 거치지 않고 캐시에서 조회한다")
+    void selectById_cachedAfterFirstRead() {
+        // given
+        long userId = 1L;
+        when(userPointStore.selectById(userId)).thenReturn(new UserPoint(userId, 1_000L, 0L));
+
+        // when
+        userPointRepository.selectById(userId);
+        UserPoint result = userPointRepository.selectById(userId);
+
+        // then
+        assertEquals(1_000L, result.point());
+        verify(userPointStore, times(1)).selectById(userId);
+        assertEquals(new CachedUserPointRepository.CacheStats(1, 1, 0, 1), userPointRepository.cacheStats());
+        assertEquals(1.0, meterRegistry.get("point.balance.cache.hits").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("point.balance.cache.misses").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("point.balance.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("포인트를 저장하면 이후 조회는 저장소 조회 없이 저장된 포인트를 반환한다")
+    void insertOrUpdate_writeThrough() {
+        // given
+        long userId = 1L;
+        when(userPointStore.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(userPointStore.insertOrUpdate(userId, 500L)).thenReturn(new UserPoint(userId, 500L, 10L));
+
+        // when
+        userPointRepository.selectById(userId);
+        userPointRepository.insertOrUpdate(userId, 500L);
+        UserPoint result = userPointRepository.selectById(userId);
+
+        // then
+        assertEquals(500L, result.point());
+        verify(userPointStore, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 제거한다")
+    void selectById_evictsLeastRecentlyUsed() {
+        // given
+        for (long userId = 1; userId <= 3; userId++) {
+            when(userPointStore.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        }
+
+        // when - 1, 2 를 캐시한 뒤 1 을 다시 사용하고 3 을 조회하면 2 가 제거된다
+        userPointRepository.selectById(1L);
+        userPointRepository.selectById(2L);
+        userPointRepository.selectById(1L);
+        userPointRepository.selectById(3L);
+        userPointRepository.selectById(1L);
+
+        // then
+        verify(userPointStore, times(1)).selectById(1L);
+        assertEquals(1, userPointRepository.cacheStats().evictions());
+        assertEquals(1.0, meterRegistry.get("point.balance.cache.evictions").functionCounter().count());
+        assertEquals(2, userPointRepository.cacheStats().size());
+    }
+
+    @Test
+    @DisplayName("캐시를 비운 유저는 다음 조회에서 저장소의 최신 포인트를 읽는다")
+    void evict_reloadsFromTable() {
+        // given
+        long userId = 1L;
+        when(userPointStore.selectById(userId))
+                .thenReturn(new UserPoint(userId, 1_000L, 0L))
+                .thenReturn(new UserPoint(userId, 3_000L, 10L));
+        userPointRepository.selectById(userId);
+
+        // when
+        userPointRepository.evict(userId);
+        UserPoint result = userPointRepository.selectById(userId);
+
+        // then
+        assertEquals(3_000L, result.point());
+        verify(userPointStore, times(2)).selectById(userId);
+    }
+}
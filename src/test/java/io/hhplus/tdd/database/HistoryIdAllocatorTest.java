@@ -0,0 +1,76 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryIdAllocatorTest {
+
+    @Test
+    @DisplayName("한 유저의 ID 는 블록을 넘어가도 빈틈 없이 증가한다")
+    void allocate_singleUser_contiguous() {
+        // given
+        HistoryIdAllocator idAllocator = new HistoryIdAllocator(4, 8);
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(idAllocator.allocate(1L));
+        }
+
+        // then
+        assertEquals(1L, ids.get(0));
+        assertEquals(20L, ids.get(19));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 채번해도 ID 는 겹치지 않고, 유저별로 채번 순서대로 증가한다")
+    void allocate_concurrent_uniqueAndMonotonicPerUser() throws Exception {
+        // given - 스레드마다 한 유저를 맡고, 유저 수가 샤드 수보다 많아 샤드를 공유한다
+        int threadCount = 16;
+        int idsPerThread = 10_000;
+        HistoryIdAllocator idAllocator = new HistoryIdAllocator(4, 64);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                long[] ids = new long[idsPerThread];
+                for (int n = 0; n < idsPerThread; n++) {
+                    ids[n] = idAllocator.allocate(userId);
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        // then
+        Set<Long> allIds = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get();
+            for (int n = 0; n < ids.length; n++) {
+                assertTrue(allIds.add(ids[n]), "중복 ID: " + ids[n]);
+                if (n > 0) {
+                    assertTrue(ids[n - 1] < ids[n]);
+                }
+            }
+        }
+        executorService.shutdown();
+        assertEquals(threadCount * idsPerThread, allIds.size());
+    }
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedPointHistoryRepositoryTest {
+
+    @Mock
+    private PointHistoryRepository pointHistoryStore;
+
+    private IndexedPointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryRepository = new IndexedPointHistoryRepository(pointHistoryStore);
+    }
+
+    @Test
+    @DisplayName("유저별 인덱스에서 해당 유저의 내역만 ID 순으로 조회한다")
+    void selectAllByUserId_fromIndex() {
+        // given
+        PointHistory first = new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 100L);
+        PointHistory other = new PointHistory(2L, 2L, 2_000L, TransactionType.CHARGE, 101L);
+        PointHistory second = new PointHistory(3L, 1L, 500L, TransactionType.USE, 102L);
+        when(pointHistoryStore.insert(1L, 1_000L, TransactionType.CHARGE, 100L)).thenReturn(first);
+        when(pointHistoryStore.insert(2L, 2_000L, TransactionType.CHARGE, 101L)).thenReturn(other);
+        when(pointHistoryStore.insert(1L, 500L, TransactionType.USE, 102L)).thenReturn(second);
+
+        pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        pointHistoryRepository.insert(2L, 2_000L, TransactionType.CHARGE, 101L);
+        pointHistoryRepository.insert(1L, 500L, TransactionType.USE, 102L);
+
+        // when
+        List<PointHistory> result = pointHistoryRepository.selectAllByUserId(1L);
+
+        // then - 전체 내역을 훑는 저장소 조회는 사용하지 않는다
+        assertIterableEquals(List.of(first, second), result);
+        verify(pointHistoryStore, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("내역이 늦게 도착해도 ID 순서를 유지한다")
+    void insert_keepsIdOrder() {
+        // given
+        PointHistory later = new PointHistory(2L, 1L, 500L, TransactionType.CHARGE, 101L);
+        PointHistory earlier = new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 100L);
+        when(pointHistoryStore.insert(1L, 500L, TransactionType.CHARGE, 101L)).thenReturn(later);
+        when(pointHistoryStore.insert(1L, 1_000L, TransactionType.CHARGE, 100L)).thenReturn(earlier);
+
+        // when
+        pointHistoryRepository.insert(1L, 500L, TransactionType.CHARGE, 101L);
+        pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+
+        // then
+        assertIterableEquals(List.of(earlier, later), pointHistoryRepository.selectAllByUserId(1L));
+    }
+
+    @Test
+    @DisplayName("내역이 없는 유저는 빈 리스트를 반환한다")
+    void selectAllByUserId_noHistory() {
+        assertTrue(pointHistoryRepository.selectAllByUserId(999L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("cursor 이후의 내역 중 조건에 맞는 내역을 limit 건씩 페이지로 조회한다")
+    void selectPage_fromCursor() {
+        // given - 1: 충전, 2: 사용, 3: 충전, 4: 사용, 5: 사용
+        for (long id = 1; id <= 5; id++) {
+            TransactionType type = (id == 1 || id == 3) ? TransactionType.CHARGE : TransactionType.USE;
+            when(pointHistoryStore.insert(1L, id, type, id * 100)).thenReturn(new PointHistory(id, 1L, id, type, id * 100));
+            pointHistoryRepository.insert(1L, id, type, id * 100);
+        }
+
+        // when
+        PointHistoryPage firstPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, null, null, TransactionType.USE, 2));
+        PointHistoryPage lastPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(firstPage.nextCursor(), null, null, TransactionType.USE, 2));
+        PointHistoryPage timeRange = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, 200L, 300L, null, 10));
+
+        // then
+        assertEquals(List.of(2L, 4L), firstPage.histories().stream().map(PointHistory::id).toList());
+        assertEquals(4L, firstPage.nextCursor());
+        assertEquals(List.of(5L), lastPage.histories().stream().map(PointHistory::id).toList());
+        assertNull(lastPage.nextCursor());
+        assertEquals(List.of(2L, 3L), timeRange.histories().stream().map(PointHistory::id).toList());
+    }
+
+    @Test
+    @DisplayName("시간 범위와 종류 조건을 함께 주면 cursor 이후의 해당 종류 내역 중 범위 안의 내역만 조회한다")
+    void selectPage_timeRangeAndType() {
+        // given - 홀수 ID: 충전, 짝수 ID: 사용, 시각은 ID * 100
+        for (long id = 1; id <= 20; id++) {
+            TransactionType type = (id % 2 == 1) ? TransactionType.CHARGE : TransactionType.USE;
+            when(pointHistoryStore.insert(1L, id, type, id * 100)).thenReturn(new PointHistory(id, 1L, id, type, id * 100));
+            pointHistoryRepository.insert(1L, id, type, id * 100);
+        }
+
+        // when
+        PointHistoryPage firstPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, 500L, 1_500L, TransactionType.CHARGE, 3));
+        PointHistoryPage lastPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(firstPage.nextCursor(), 500L, 1_500L, TransactionType.CHARGE, 3));
+
+        // then
+        assertEquals(List.of(5L, 7L, 9L), firstPage.histories().stream().map(PointHistory::id).toList());
+        assertEquals(9L, firstPage.nextCursor());
+        assertEquals(List.of(11L, 13L, 15L), lastPage.histories().stream().map(PointHistory::id).toList());
+        assertNull(lastPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("내역 시각이 ID 순서와 어긋나도 시간 범위에 맞는 내역을 빠짐없이 조회한다")
+    void selectPage_timeNotOrdered() {
+        // given - 2번 내역의 시각이 1번보다 이르다
+        long[] millis = {0L, 300L, 100L, 400L};
+        for (long id = 1; id <= 3; id++) {
+            when(pointHistoryStore.insert(1L, id, TransactionType.CHARGE, millis[(int) id]))
+                    .thenReturn(new PointHistory(id, 1L, id, TransactionType.CHARGE, millis[(int) id]));
+            pointHistoryRepository.insert(1L, id, TransactionType.CHARGE, millis[(int) id]);
+        }
+
+        // when
+        PointHistoryPage page = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, 50L, 150L, null, 10));
+
+        // then
+        assertEquals(List.of(2L), page.histories().stream().map(PointHistory::id).toList());
+    }
+}
@@ -0,0 +1,139 @@
+package io.hhplus.tdd.database.columnar;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPointHistoryRepositoryTest {
+
+    private final ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("컬럼에 저장한 내역을 저장할 때와 같은 PointHistory 로 복원해 ID 순으로 조회한다")
+    void selectAllByUserId_materializesRows() {
+        // given
+        PointHistory first = pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        pointHistoryRepository.insert(2L, 2_000L, TransactionType.CHARGE, 101L);
+        PointHistory second = pointHistoryRepository.insert(1L, 500L, TransactionType.USE, 102L);
+
+        // when
+        List<PointHistory> result = pointHistoryRepository.selectAllByUserId(1L);
+
+        // then
+        assertEquals(List.of(first, second), result);
+        assertEquals(List.of(), pointHistoryRepository.selectAllByUserId(3L));
+    }
+
+    @Test
+    @DisplayName("청크를 여러 개 넘나들어도 cursor 이후의 조건에 맞는 내역을 한 페이지 조회한다")
+    void selectPage_acrossChunks() {
+        // given
+        int rows = HistoryChunk.MAX_ROWS * 2 + 10;
+        for (int i = 0; i < rows; i++) {
+            pointHistoryRepository.insert(1L, i, (i % 2 == 0) ? TransactionType.CHARGE : TransactionType.USE, 1_000L + i);
+        }
+
+        // when
+        PointHistoryPage page = pointHistoryRepository.selectPage(1L, new PointHistoryQuery((long) HistoryChunk.MAX_ROWS - 2, null, null, TransactionType.CHARGE, 3));
+
+        // then
+        assertEquals(List.of(1_023L, 1_025L, 1_027L), page.histories().stream().map(PointHistory::id).toList());
+        assertEquals(1_027L, page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("청크를 넘나드는 시간 범위와 종류 조건을 함께 주면 범위 안의 해당 종류 내역만 조회한다")
+    void selectPage_timeRangeAndTypeAcrossChunks() {
+        // given - 시각은 1_000 + 행 번호
+        int rows = HistoryChunk.MAX_ROWS * 3;
+        for (int i = 0; i < rows; i++) {
+            pointHistoryRepository.insert(1L, i, (i % 3 == 0) ? TransactionType.USE : TransactionType.CHARGE, 1_000L + i);
+        }
+        long from = 1_000L + HistoryChunk.MAX_ROWS + 1;
+        long to = from + 10;
+
+        // when
+        PointHistoryPage firstPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, from, to, TransactionType.USE, 2));
+        PointHistoryPage lastPage = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(firstPage.nextCursor(), from, to, TransactionType.USE, 2));
+
+        // then - 행 1_025 ~ 1_035 중 3의 배수: 1_026, 1_029, 1_032, 1_035 (ID 는 행 번호 + 1)
+        assertEquals(List.of(1_027L, 1_030L), firstPage.histories().stream().map(PointHistory::id).toList());
+        assertEquals(1_030L, firstPage.nextCursor());
+        assertEquals(List.of(1_033L, 1_036L), lastPage.histories().stream().map(PointHistory::id).toList());
+        assertNull(lastPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("내역 시각이 ID 순서와 어긋나도 시간 범위에 맞는 내역을 빠짐없이 조회한다")
+    void selectPage_timeNotOrdered() {
+        // given - 2번 내역의 시각이 1번보다 이르다
+        pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 300L);
+        PointHistory earlier = pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 400L);
+
+        // when
+        PointHistoryPage page = pointHistoryRepository.selectPage(1L, new PointHistoryQuery(null, 50L, 150L, null, 10));
+
+        // then
+        assertEquals(List.of(earlier), page.histories());
+    }
+
+    @Test
+    @DisplayName("이용 요약은 저장된 내역을 합산한 값과 같다")
+    void selectSummary_matchesHistories() {
+        // given
+        pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        pointHistoryRepository.insert(2L, 2_000L, TransactionType.CHARGE, 101L);
+        pointHistoryRepository.insert(1L, 300L, TransactionType.USE, 102L);
+
+        // when
+        PointSummary summary = pointHistoryRepository.selectSummary(1L);
+
+        // then
+        PointSummary folded = PointSummary.empty(1L);
+        for (PointHistory history : pointHistoryRepository.selectAllByUserId(1L)) {
+            folded = folded.plus(history.amount(), history.type(), history.updateMillis());
+        }
+        assertEquals(new PointSummary(1L, 1_000L, 300L, 1L, 1L, 102L), summary);
+        assertEquals(folded, summary);
+        assertEquals(PointSummary.empty(3L), pointHistoryRepository.selectSummary(3L));
+    }
+
+    @Test
+    @DisplayName("시각 차이가 int 범위를 넘는 내역도 그대로 복원한다")
+    void insert_largeTimeGap() {
+        // given
+        PointHistory first = pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 0L);
+        PointHistory second = pointHistoryRepository.insert(1L, 1_000L, TransactionType.CHARGE, 10_000_000_000L);
+
+        // when
+        List<PointHistory> result = pointHistoryRepository.selectAllByUserId(1L);
+
+        // then
+        assertEquals(List.of(first, second), result);
+    }
+
+    @Test
+    @DisplayName("행당 바이트 수는 PointHistory 객체보다 작다")
+    void bytesPerRow_smallerThanObjects() {
+        // given
+        for (int i = 0; i < 10_000; i++) {
+            pointHistoryRepository.insert(i % 10, 1_000L, TransactionType.CHARGE, i);
+        }
+
+        // when
+        double bytesPerRow = pointHistoryRepository.bytesPerRow();
+
+        // then
+        assertTrue(bytesPerRow < 32, "bytesPerRow = " + bytesPerRow);
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.database.durable;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableUserPointRepositoryTest {
+
+    private static final int SHARDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 WAL 을 재생해 마지막 포인트를 복구한다")
+    void reopen_replaysWal() throws Exception {
+        // given
+        DurableUserPointRepository repository = open();
+        repository.insertOrUpdate(1L, 1_000L);
+        repository.insertOrUpdate(2L, 2_000L);
+        repository.insertOrUpdate(1L, 500L);
+        // close 없이(스냅샷 없이) 종료된 상황
+
+        // when
+        DurableUserPointRepository reopened = open();
+
+        // then
+        assertEquals(500L, reopened.selectById(1L).point());
+        assertEquals(2_000L, reopened.selectById(2L).point());
+        assertEquals(0L, reopened.selectById(3L).point());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후에는 스냅샷과 그 뒤의 WAL 로 복구하고, 스냅샷에 포함된 WAL 은 지운다")
+    void snapshot_thenReplayTail() throws Exception {
+        // given
+        DurableUserPointRepository repository = open();
+        for (long userId = 1; userId <= 100; userId++) {
+            repository.insertOrUpdate(userId, userId * 10);
+        }
+        repository.snapshot();
+        repository.insertOrUpdate(7L, 7_777L);
+
+        // when
+        DurableUserPointRepository reopened = open();
+
+        // then
+        assertEquals(7_777L, reopened.selectById(7L).point());
+        assertEquals(1_000L, reopened.selectById(100L).point());
+        assertFalse(files().anyMatch(path -> path.getFileName().toString().equals("wal-1.log")));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("기록 도중 끊긴 WAL 꼬리 레코드는 재생하지 않는다")
+    void reopen_ignoresTornWalTail() throws Exception {
+        // given
+        DurableUserPointRepository repository = open();
+        repository.insertOrUpdate(1L, 1_000L);
+        repository.close();
+        DurableUserPointRepository second = open();
+        UserPoint expected = second.insertOrUpdate(1L, 2_000L);
+        List<Path> wals = files().filter(path -> path.getFileName().toString().startsWith("wal-") && sizeOf(path) > 0).toList();
+        assertEquals(1, wals.size());
+        // 다음 레코드의 일부만 기록된 상태를 만든다.
+        Files.write(wals.get(0), new byte[BalanceShard.WAL_RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        // when
+        DurableUserPointRepository reopened = open();
+
+        // then
+        assertEquals(expected, reopened.selectById(1L));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 쓰기가 실패하면 변경 표시를 되살려 다음 스냅샷에서 다시 남긴다")
+    void snapshotFails_retriedNextTime() throws Exception {
+        // given
+        Path shardDirectory = directory.resolve("shard");
+        BalanceShard shard = new BalanceShard(shardDirectory, false);
+        shard.recover();
+        shard.put(1L, 1_000L);
+        // 다음 스냅샷(세대 2)의 임시 파일 자리에 디렉터리를 두어 쓰기를 실패시킨다.
+        Path blocker = Files.createDirectory(shardDirectory.resolve("snapshot-2.tmp"));
+        assertThrows(IOException.class, shard::snapshot);
+        Files.delete(blocker);
+
+        // when
+        shard.snapshot();
+
+        // then
+        assertTrue(Files.exists(shardDirectory.resolve("snapshot-3.bin")));
+        shard.close();
+    }
+
+    @Test
+    @DisplayName("기존 데이터와 샤드 수가 다르면 시작하지 않는다")
+    void open_shardCountMismatch() throws Exception {
+        // given
+        open().close();
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> new DurableUserPointRepository(directory.toString(), SHARDS * 2, 3_600L, false));
+    }
+
+    private DurableUserPointRepository open() {
+        return new DurableUserPointRepository(directory.toString(), SHARDS, 3_600L, false);
+    }
+
+    private Stream<Path> files() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).toList().stream();
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.hhplus.tdd.database.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalPointHistoryRepositoryTest {
+
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 저널에서 내역을 복구하고 이어서 ID 를 채번한다")
+    void reopen_recoversHistories() {
+        // given
+        JournalPointHistoryRepository repository = open();
+        repository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        repository.insert(2L, 2_000L, TransactionType.CHARGE, 101L);
+        repository.insert(1L, 500L, TransactionType.USE, 102L);
+        repository.close();
+
+        // when
+        JournalPointHistoryRepository reopened = open();
+        PointHistory next = reopened.insert(1L, 300L, TransactionType.CHARGE, 103L);
+
+        // then
+        assertEquals(List.of(
+                new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 100L),
+                new PointHistory(3L, 1L, 500L, TransactionType.USE, 102L),
+                next
+        ), reopened.selectAllByUserId(1L));
+        assertEquals(4L, next.id());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트 파일로 넘어가고, 세그먼트를 넘나들며 페이지 조회한다")
+    void insert_rollsSegments() throws Exception {
+        // given
+        JournalPointHistoryRepository repository = open();
+        for (int i = 0; i < 10; i++) {
+            repository.insert(1L, 100L + i, TransactionType.CHARGE, i);
+        }
+
+        // when
+        PointHistoryPage page = repository.selectPage(1L, new PointHistoryQuery(3L, null, null, null, 4));
+
+        // then
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+        assertEquals(List.of(4L, 5L, 6L, 7L), page.histories().stream().map(PointHistory::id).toList());
+        assertEquals(7L, page.nextCursor());
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("기록 도중 끊긴 꼬리 레코드는 복구 시 잘라내고 그 자리부터 다시 기록한다")
+    void reopen_truncatesTornTail() throws Exception {
+        // given
+        JournalPointHistoryRepository repository = open();
+        repository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        repository.insert(1L, 2_000L, TransactionType.CHARGE, 101L);
+        repository.close();
+        // 두 번째 레코드의 중간을 덮어써서 기록 도중 끊긴 상태를 만든다.
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("00000000.journal").toFile(), "rw")) {
+            file.seek(JournalSegment.RECORD_SIZE + 20);
+            file.write(new byte[]{1, 2, 3});
+        }
+
+        // when
+        JournalPointHistoryRepository reopened = open();
+        PointHistory next = reopened.insert(1L, 3_000L, TransactionType.CHARGE, 102L);
+
+        // then
+        assertEquals(2L, next.id());
+        assertEquals(List.of(1_000L, 3_000L), reopened.selectAllByUserId(1L).stream().map(PointHistory::amount).toList());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("재시작하면 저널의 내역으로 이용 요약을 다시 만든다")
+    void reopen_rebuildsSummary() {
+        // given
+        JournalPointHistoryRepository repository = open();
+        repository.insert(1L, 1_000L, TransactionType.CHARGE, 100L);
+        repository.insert(2L, 2_000L, TransactionType.CHARGE, 101L);
+        repository.insert(1L, 300L, TransactionType.USE, 102L);
+        repository.close();
+
+        // when
+        JournalPointHistoryRepository reopened = open();
+        reopened.insert(1L, 500L, TransactionType.CHARGE, 103L);
+
+        // then
+        assertEquals(new PointSummary(1L, 1_500L, 300L, 2L, 1L, 103L), reopened.selectSummary(1L));
+        assertEquals(new PointSummary(2L, 2_000L, 0L, 1L, 0L, 101L), reopened.selectSummary(2L));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("종류/시간 조건이 있는 페이지 조회는 그 종류의 레코드에서 cursor 와 시작 시각 이후만 읽는다")
+    void selectPage_filtersByTypeAndTime() {
+        // given - 충전과 사용이 번갈아 기록된 내역 (ID i 의 시각은 i * 10)
+        JournalPointHistoryRepository repository = open();
+        for (long i = 1; i <= 20; i++) {
+            repository.insert(1L, i, (i % 2 == 0) ? TransactionType.USE : TransactionType.CHARGE, i * 10);
+        }
+
+        // when
+        PointHistoryPage first = repository.selectPage(1L, new PointHistoryQuery(null, 55L, 170L, TransactionType.USE, 3));
+        PointHistoryPage second = repository.selectPage(1L, new PointHistoryQuery(first.nextCursor(), 55L, 170L, TransactionType.USE, 3));
+
+        // then
+        assertEquals(List.of(6L, 8L, 10L), first.histories().stream().map(PointHistory::id).toList());
+        assertEquals(List.of(12L, 14L, 16L), second.histories().stream().map(PointHistory::id).toList());
+        assertNull(repository.selectPage(1L, new PointHistoryQuery(16L, 55L, 170L, TransactionType.USE, 3)).nextCursor());
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("내역 시각이 ID 순서와 어긋난 유저는 시간 조건을 한 건씩 확인한다")
+    void selectPage_outOfOrderTime_checksEachRecord() {
+        // given - 세 번째 내역의 시각이 앞선 내역보다 이르다
+        JournalPointHistoryRepository repository = open();
+        repository.insert(1L, 1L, TransactionType.CHARGE, 100L);
+        repository.insert(1L, 2L, TransactionType.CHARGE, 300L);
+        repository.insert(1L, 3L, TransactionType.CHARGE, 50L);
+        repository.insert(1L, 4L, TransactionType.CHARGE, 400L);
+
+        // when
+        PointHistoryPage page = repository.selectPage(1L, new PointHistoryQuery(null, null, 100L, null, 10));
+
+        // then
+        assertEquals(List.of(1L, 3L), page.histories().stream().map(PointHistory::id).toList());
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("한 세그먼트가 하나의 버퍼로 매핑되지 않을 만큼 큰 segment-records 는 시작할 때 거절한다")
+    void oversizedSegmentRecords_rejected() {
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> new JournalPointHistoryRepository(directory.toString(), JournalSegment.MAX_RECORDS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new JournalPointHistoryRepository(directory.toString(), 0));
+    }
+
+    private JournalPointHistoryRepository open() {
+        return new JournalPointHistoryRepository(directory.toString(), SEGMENT_RECORDS);
+    }
+}
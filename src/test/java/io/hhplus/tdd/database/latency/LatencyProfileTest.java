@@ -0,0 +1,76 @@
+package io.hhplus.tdd.database.latency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyProfileTest {
+
+    @Test
+    @DisplayName("같은 seed 로 만든 모델은 같은 순서의 지연 시간을 만든다")
+    void sameSeed_sameSequence() {
+        // given
+        LatencyProfile first = LatencyProfile.logNormal(42L, 1.0, 1.0);
+        LatencyProfile second = LatencyProfile.logNormal(42L, 1.0, 1.0);
+
+        // when
+        long[] firstDelays = LongStream.range(0, 100).map(i -> first.nextDelayNanos(300L)).toArray();
+        long[] secondDelays = LongStream.range(0, 100).map(i -> second.nextDelayNanos(300L)).toArray();
+
+        // then
+        assertArrayEquals(firstDelays, secondDelays);
+    }
+
+    @Test
+    @DisplayName("uniform 모델은 0 ~ 기준 지연 시간 * scale 사이의 값을 만든다")
+    void uniform_withinBound() {
+        // given
+        LatencyProfile profile = LatencyProfile.uniform(1L, 0.5);
+
+        // when
+        long[] delays = LongStream.range(0, 10_000).map(i -> profile.nextDelayNanos(200L)).toArray();
+
+        // then
+        assertTrue(Arrays.stream(delays).allMatch(delay -> delay >= 0 && delay < 100_000_000L));
+        assertEquals(50_000_000L, Arrays.stream(delays).average().orElseThrow(), 2_000_000L);
+    }
+
+    @Test
+    @DisplayName("log-normal 모델의 중앙값은 기준 지연 시간 * scale / 2 이고 긴 꼬리를 가진다")
+    void logNormal_medianAndTail() {
+        // given
+        LatencyProfile profile = LatencyProfile.logNormal(7L, 1.0, 1.0);
+
+        // when
+        long[] delays = LongStream.range(0, 10_001).map(i -> profile.nextDelayNanos(200L)).sorted().toArray();
+
+        // then
+        assertEquals(100_000_000L, delays[5_000], 5_000_000L);
+        assertTrue(delays[9_900] > 5 * delays[5_000]);
+    }
+
+    @Test
+    @DisplayName("trace 모델은 기록된 지연 시간을 순서대로 반복 재생한다")
+    void trace_replaysInOrder() {
+        // given
+        LatencyProfile profile = LatencyProfile.trace(List.of(1.0, 2.5, 0.0), 2.0);
+
+        // when
+        long[] delays = LongStream.range(0, 4).map(i -> profile.nextDelayNanos(300L)).toArray();
+
+        // then
+        assertArrayEquals(new long[]{2_000_000L, 5_000_000L, 0L, 2_000_000L}, delays);
+    }
+
+    @Test
+    @DisplayName("zero, fixed 모델은 항상 같은 지연 시간을 만든다")
+    void zeroAndFixed() {
+        assertEquals(0L, LatencyProfile.zero().nextDelayNanos(300L));
+        assertEquals(150_000_000L, LatencyProfile.fixed(0.5).nextDelayNanos(300L));
+    }
+}
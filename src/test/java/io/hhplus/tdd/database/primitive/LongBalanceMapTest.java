@@ -0,0 +1,76 @@
+package io.hhplus.tdd.database.primitive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongBalanceMapTest {
+
+    @Test
+    @DisplayName("저장한 포인트를 조회하고, 같은 키로 다시 저장하면 덮어쓴다")
+    void put_thenIndexOf() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(4);
+
+        // when
+        map.put(1L, 1_000L, 100L);
+        map.put(1L, 500L, 101L);
+
+        // then
+        int slot = map.indexOf(1L);
+        assertEquals(500L, map.pointAt(slot));
+        assertEquals(101L, map.updateMillisAt(slot));
+        assertEquals(1, map.size());
+        assertEquals(-1, map.indexOf(2L));
+    }
+
+    @Test
+    @DisplayName("키 0 과 음수 키도 다른 키와 같이 저장하고 조회한다")
+    void zeroAndNegativeKeys() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(4);
+
+        // when
+        map.put(0L, 10L, 1L);
+        map.put(-1L, 20L, 2L);
+        map.put(Long.MIN_VALUE, 30L, 3L);
+
+        // then
+        assertEquals(10L, map.pointAt(map.indexOf(0L)));
+        assertEquals(20L, map.pointAt(map.indexOf(-1L)));
+        assertEquals(30L, map.pointAt(map.indexOf(Long.MIN_VALUE)));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    @DisplayName("여러 번 늘어나는 동안에도 HashMap 과 같은 결과를 유지한다")
+    void resize_matchesHashMap() {
+        // given
+        LongBalanceMap map = new LongBalanceMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42L);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) - 1_000L;
+            long point = random.nextLong();
+            map.put(key, point, i);
+            expected.put(key, point);
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, point) -> assertEquals(point, map.pointAt(map.indexOf(key))));
+        long[] visited = {0};
+        map.forEach((key, point, updateMillis) -> {
+            assertEquals(expected.get(key), point);
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+}
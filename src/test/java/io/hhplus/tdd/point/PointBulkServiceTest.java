@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.hhplus.tdd.point.admission.PointAdmissionController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointBulkServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    private PointAdmissionController pointAdmissionController;
+    private PointBulkService pointBulkService;
+
+    @BeforeEach
+    void setUp() {
+        // 전체 동시 처리 한도 1
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 16, 50, 100, 1, 1, 1);
+        pointBulkService = new PointBulkService(pointService, pointAdmissionController, 4, 1_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointBulkService.shutdown();
+        pointAdmissionController.shutdown();
+    }
+
+    @Test
+    @DisplayName("동일 유저의 요청은 요청 목록의 순서대로 처리한다")
+    void process_keepsOrderPerUser() {
+        // given
+        when(pointService.applyBulkItemAsync(1L, 1_000L, TransactionType.CHARGE)).thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 1_000L, 0L)));
+        when(pointService.applyBulkItemAsync(1L, 300L, TransactionType.USE)).thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 700L, 0L)));
+        when(pointService.applyBulkItemAsync(2L, 500L, TransactionType.CHARGE)).thenReturn(CompletableFuture.completedFuture(new UserPoint(2L, 500L, 0L)));
+
+        List<PointBulkItem> items = List.of(
+                new PointBulkItem(1L, 1_000L, TransactionType.CHARGE),
+                new PointBulkItem(2L, 500L, TransactionType.CHARGE),
+                new PointBulkItem(1L, 300L, TransactionType.USE)
+        );
+
+        // when
+        List<PointBulkResult> results = pointBulkService.process(items).join();
+
+        // then
+        InOrder inOrder = inOrder(pointService);
+        inOrder.verify(pointService).applyBulkItemAsync(1L, 1_000L, TransactionType.CHARGE);
+        inOrder.verify(pointService).applyBulkItemAsync(1L, 300L, TransactionType.USE);
+
+        assertEquals(3, results.size());
+        assertEquals(PointBulkResult.success(0, new UserPoint(1L, 1_000L, 0L)), results.get(0));
+        assertEquals(PointBulkResult.success(1, new UserPoint(2L, 500L, 0L)), results.get(1));
+        assertEquals(PointBulkResult.success(2, new UserPoint(1L, 700L, 0L)), results.get(2));
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 사유를 담고, 뒤따르는 요청은 계속 처리한다")
+    void process_continuesAfterFailure() {
+        // given
+        when(pointService.applyBulkItemAsync(1L, 1_000L, TransactionType.USE))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("포인트가 부족합니다.")));
+        when(pointService.applyBulkItemAsync(1L, 1_000L, TransactionType.CHARGE)).thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 1_000L, 0L)));
+
+        List<PointBulkItem> items = List.of(
+                new PointBulkItem(1L, 1_000L, TransactionType.USE),
+                new PointBulkItem(1L, 1_000L, TransactionType.CHARGE)
+        );
+
+        // when
+        List<PointBulkResult> results = pointBulkService.process(items).join();
+
+        // then
+        assertEquals(PointBulkResult.failure(0, 1L, "포인트가 부족합니다."), results.get(0));
+        assertTrue(results.get(1).success());
+    }
+
+    @Test
+    @DisplayName("일괄 요청은 전체 한도를 한 번만 차지하고, 처리가 끝나면 반납한다")
+    void process_takesOneGlobalSlot() {
+        // given - 전체 동시 처리 한도 1
+        when(pointService.applyBulkItemAsync(1L, 10L, TransactionType.CHARGE))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 10L, 0L)));
+        List<PointBulkItem> items = Collections.nCopies(150, new PointBulkItem(1L, 10L, TransactionType.CHARGE));
+
+        // when
+        List<PointBulkResult> results = pointBulkService.process(items).join();
+
+        // then
+        assertTrue(results.stream().allMatch(PointBulkResult::success));
+        verify(pointService, times(150)).applyBulkItemAsync(1L, 10L, TransactionType.CHARGE);
+        assertDoesNotThrow(() -> pointAdmissionController.admit(1L));
+    }
+
+    @Test
+    @DisplayName("전체 동시 처리 한도를 넘으면 일괄 요청 전체를 거절한다")
+    void process_globalLimitReached_rejected() {
+        // given - 한도 1을 다른 요청이 차지
+        pointAdmissionController.admit(2L);
+        List<PointBulkItem> items = List.of(new PointBulkItem(1L, 1_000L, TransactionType.CHARGE));
+
+        // when
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> pointBulkService.process(items));
+
+        // then
+        assertEquals(AdmissionRejectedException.Reason.GLOBAL_CONCURRENCY, exception.reason());
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("빈 요청 목록은 예외 발생")
+    void process_emptyItems_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> pointBulkService.process(List.of()));
+    }
+
+    @Test
+    @DisplayName("비어 있는 항목이 섞인 요청 목록은 예외 발생")
+    void process_nullItem_throwException() {
+        List<PointBulkItem> items = Arrays.asList(new PointBulkItem(1L, 1_000L, TransactionType.CHARGE), null);
+
+        assertThrows(IllegalArgumentException.class, () -> pointBulkService.process(items));
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("응답 대기 시간은 병렬로 처리할 차례 수와 한 유저의 요청 수 중 큰 쪽에 비례한다")
+    void timeoutMillis_scalesWithItems() {
+        // given - 스레드 4개
+        List<PointBulkItem> distinctUsers = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            distinctUsers.add(new PointBulkItem(userId, 1_000L, TransactionType.CHARGE));
+        }
+        List<PointBulkItem> sameUser = Collections.nCopies(10, new PointBulkItem(1L, 1_000L, TransactionType.CHARGE));
+
+        // when & then
+        assertEquals(3_000L, pointBulkService.timeoutMillis(distinctUsers));
+        assertEquals(10_000L, pointBulkService.timeoutMillis(sameUser));
+    }
+}
@@ -1,6 +1,6 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,13 +9,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -27,14 +32,14 @@ public class PointConcurrentTest {
     MockMvc mockMvc;
 
     @Autowired
-    UserPointTable userPointTable;
+    UserPointRepository userPointRepository;
 
     long userId;
 
     @BeforeEach
     void setup() {
         userId = System.currentTimeMillis();
-        userPointTable.insertOrUpdate(userId, 0L);
+        userPointRepository.insertOrUpdate(userId, 0L);
     }
 
     @Test
@@ -49,7 +54,7 @@ public class PointConcurrentTest {
         for (int i = 0; i < threadCount; i++) {
             executorService.submit(() -> {
                 try {
-                    mockMvc.perform(patch("/point/{id}/charge", userId)
+                    performAsync(patch("/point/{id}/charge", userId)
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(String.valueOf(chargeAmount)))
                             .andExpect(status().isOk());
@@ -77,7 +82,7 @@ public class PointConcurrentTest {
         long useAmount = 1_000L;
 
         // 선충전
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        performAsync(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(initialAmount)))
                 .andExpect(status().isOk());
@@ -88,7 +93,7 @@ public class PointConcurrentTest {
         for (int i = 0; i < threadCount; i++) {
             executorService.submit(() -> {
                 try {
-                    mockMvc.perform(patch("/point/{id}/use", userId)
+                    performAsync(patch("/point/{id}/use", userId)
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(String.valueOf(useAmount)))
                             .andExpect(status().isOk());
@@ -117,7 +122,7 @@ public class PointConcurrentTest {
         long useAmount = 500L;
 
         // 선충전
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        performAsync(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(initamount)))
                 .andExpect(status().isOk());
@@ -128,7 +133,7 @@ public class PointConcurrentTest {
         // 충전
         executorService.submit(() -> {
             try {
-                mockMvc.perform(patch("/point/{id}/charge", userId)
+                performAsync(patch("/point/{id}/charge", userId)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(String.valueOf(chargeAmount)))
                         .andExpect(status().isOk());
@@ -142,7 +147,7 @@ public class PointConcurrentTest {
         // 사용
         executorService.submit(() -> {
             try {
-                mockMvc.perform(patch("/point/{id}/use", userId)
+                performAsync(patch("/point/{id}/use", userId)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(String.valueOf(useAmount)))
                         .andExpect(status().isOk());
@@ -161,4 +166,12 @@ public class PointConcurrentTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.point").value(1_000));
     }
-}
\ No newline at end of file
+
+    // 충전/사용은 DeferredResult 로 응답하므로, 비동기 처리가 끝난 뒤의 응답을 검증한다.
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
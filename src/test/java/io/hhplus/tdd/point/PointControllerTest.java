@@ -1,23 +1,37 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static io.hhplus.tdd.common.Constants.MAX_HISTORY_PAGE_SIZE;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PointController.class)
+@Import(IdempotencyCache.class)
 public class PointControllerTest {
 
     @Autowired
@@ -26,6 +40,9 @@ public class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private PointBulkService pointBulkService;
+
     @Test
     @DisplayName("특정 유저의 포인트를 조회한다")
     void getUserPoint_success() throws Exception {
@@ -75,6 +92,86 @@ public class PointControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("조회 조건이 있으면 내역을 한 페이지만 조회하고 다음 cursor 를 헤더로 알려준다")
+    void getUserHistoryPage_success() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistoryQuery query = new PointHistoryQuery(1L, null, null, TransactionType.USE, 1);
+        PointHistoryPage page = new PointHistoryPage(
+                List.of(new PointHistory(2L, userId, 5_000L, TransactionType.USE, 101_000L)),
+                2L
+        );
+
+        when(pointService.getHistoryPage(userId, query)).thenReturn(page);
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories", userId)
+                        .param("cursor", "1")
+                        .param("type", "USE")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].type").value("USE"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("조회 건수가 허용 범위를 벗어나면 400 을 반환한다")
+    void getUserHistoryPage_invalidLimit_fail() throws Exception {
+        mockMvc.perform(get("/point/{id}/histories", 1L)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+    }
+
+    @Test
+    @DisplayName("유저의 포인트 이용 내역을 after 이후부터 NDJSON 으로 페이지 단위로 내려준다")
+    void exportHistories_success() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistory second = new PointHistory(2L, userId, 5_000L, TransactionType.USE, 101_000L);
+        PointHistory third = new PointHistory(3L, userId, 3_000L, TransactionType.USE, 102_000L);
+
+        when(pointService.getHistoryPage(userId, new PointHistoryQuery(1L, null, null, null, MAX_HISTORY_PAGE_SIZE)))
+                .thenReturn(new PointHistoryPage(List.of(second), 2L));
+        when(pointService.getHistoryPage(userId, new PointHistoryQuery(2L, null, null, null, MAX_HISTORY_PAGE_SIZE)))
+                .thenReturn(new PointHistoryPage(List.of(third), null));
+
+        // when & then
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories/export", userId)
+                        .param("after", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"id\":2,\"userId\":1,\"amount\":5000,\"type\":\"USE\",\"updateMillis\":101000}\n"
+                                + "{\"id\":3,\"userId\":1,\"amount\":3000,\"type\":\"USE\",\"updateMillis\":102000}\n"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 이용 요약을 조회한다")
+    void getUserSummary_success() throws Exception {
+        // given
+        long userId = 1L;
+        when(pointService.getSummary(userId)).thenReturn(new PointSummary(userId, 10_000L, 3_000L, 2L, 1L, 102_000L));
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCharged").value(10_000L))
+                .andExpect(jsonPath("$.totalUsed").value(3_000L))
+                .andExpect(jsonPath("$.chargeCount").value(2))
+                .andExpect(jsonPath("$.useCount").value(1))
+                .andExpect(jsonPath("$.lastActivityMillis").value(102_000L))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("유저의 포인트를 충전한다")
     void chargePoint_success() throws Exception {
@@ -84,18 +181,48 @@ public class PointControllerTest {
         long updateMillis = System.currentTimeMillis();
         UserPoint charged = new UserPoint(userId, amount, updateMillis);
 
-        when(pointService.chargePoint(userId, amount)).thenReturn(charged);
+        when(pointService.chargePointAsync(userId, amount)).thenReturn(CompletableFuture.completedFuture(charged));
 
-        // when & then
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        // when & then - 충전/사용은 비동기(DeferredResult)로 응답하므로 asyncDispatch 로 결과를 확인한다
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.point").value(amount))
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 재시도한 충전은 한 번만 반영하고 처음 결과를 돌려준다")
+    void chargePoint_idempotencyKey_replay() throws Exception {
+        // given
+        long userId = 2L;
+        long amount = 1000L;
+        UserPoint charged = new UserPoint(userId, amount, System.currentTimeMillis());
+
+        when(pointService.chargePointAsync(userId, amount)).thenReturn(CompletableFuture.completedFuture(charged));
+
+        // when & then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .header("Idempotency-Key", "charge-retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(amount)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(amount));
+        }
+        verify(pointService, times(1)).chargePointAsync(userId, amount);
+    }
+
     // 포인트 충전 실패
     @Test
     @DisplayName("최대 포인트 한도 초과로 포인트 충전 실패한다.")
@@ -106,13 +233,17 @@ public class PointControllerTest {
         long updateMillis = System.currentTimeMillis();
         UserPoint charged = new UserPoint(userId, amount, updateMillis);
 
-        when(pointService.chargePoint(userId, amount))
-                .thenThrow(new IllegalArgumentException("최대 포인트 한도를 초과할 수 없습니다."));
+        when(pointService.chargePointAsync(userId, amount))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("최대 포인트 한도를 초과할 수 없습니다.")));
 
         // when & then
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.code").value("400"))
                 .andExpect(jsonPath("$.message").value("최대 포인트 한도를 초과할 수 없습니다."))
@@ -129,12 +260,16 @@ public class PointControllerTest {
         long updateMillis = System.currentTimeMillis();
         UserPoint used = new UserPoint(userId, remaining, updateMillis);
 
-        when(pointService.usePoint(userId, amount)).thenReturn(used);
+        when(pointService.usePointAsync(userId, amount)).thenReturn(CompletableFuture.completedFuture(used));
 
         // when & then
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.point").value(remaining))
@@ -149,16 +284,80 @@ public class PointControllerTest {
         long userId = 1L;
         long amount = 10_000L;
 
-        when(pointService.usePoint(userId, amount))
-                .thenThrow(new IllegalArgumentException("포인트가 부족합니다."));
+        when(pointService.usePointAsync(userId, amount))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("포인트가 부족합니다.")));
 
         // when & then
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.code").value("400"))
                 .andExpect(jsonPath("$.message").value("포인트가 부족합니다."))
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    // 처리 한도 초과
+    @DisplayName("처리 한도를 넘은 충전 요청은 429 로 거절한다")
+    @Test
+    void chargePoint_admissionRejected_fail() throws Exception {
+        // given
+        long userId = 1L;
+        long amount = 1_000L;
+
+        when(pointService.chargePointAsync(userId, amount))
+                .thenReturn(CompletableFuture.failedFuture(new AdmissionRejectedException(AdmissionRejectedException.Reason.USER_RATE)));
+
+        // when & then
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("429"))
+                .andDo(print());
+    }
+
+    @DisplayName("여러 유저의 포인트를 일괄 충전/사용하고 요청별 결과를 반환한다")
+    @Test
+    void bulk_success() throws Exception {
+        // given
+        List<PointBulkItem> items = List.of(
+                new PointBulkItem(1L, 1_000L, TransactionType.CHARGE),
+                new PointBulkItem(2L, 500L, TransactionType.USE)
+        );
+        List<PointBulkResult> results = List.of(
+                PointBulkResult.success(0, new UserPoint(1L, 1_000L, 0L)),
+                PointBulkResult.failure(1, 2L, "포인트가 부족합니다.")
+        );
+
+        when(pointBulkService.process(items)).thenReturn(CompletableFuture.completedFuture(results));
+
+        // when & then
+        MvcResult mvcResult = mockMvc.perform(post("/point/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"userId":1,"amount":1000,"type":"CHARGE"},
+                                 {"userId":2,"amount":500,"type":"USE"}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].point").value(1_000L))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("포인트가 부족합니다."))
+                .andDo(print());
+    }
+}
@@ -1,6 +1,6 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,10 +9,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -23,14 +28,14 @@ public class PointIntegrationTest {
     private MockMvc mockMvc;
 
     @Autowired
-    UserPointTable userPointTable;
+    UserPointRepository userPointRepository;
 
     private long userId;
 
     @BeforeEach
     void setup() {
         userId = generateUniqueUserId();
-        userPointTable.insertOrUpdate(userId, 0L);
+        userPointRepository.insertOrUpdate(userId, 0L);
     }
 
     private long generateUniqueUserId() {
@@ -52,7 +57,7 @@ public class PointIntegrationTest {
     void chargePoint_success() throws Exception {
         long chargeAmount = 1_000L;
 
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        performAsync(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(chargeAmount)))
                 .andExpect(status().isOk())
@@ -67,13 +72,13 @@ public class PointIntegrationTest {
         long useAmount = 500L;
 
         // 충전
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        performAsync(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(chargeAmount)))
                 .andExpect(status().isOk());
 
         // 사용
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        performAsync(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(useAmount)))
                 .andExpect(status().isOk())
@@ -87,13 +92,13 @@ public class PointIntegrationTest {
         long useAmount = 1_000L;
 
         // 충전
-        mockMvc.perform(patch("/point/{id}/charge", userId)
+        performAsync(patch("/point/{id}/charge", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(chargeAmount)))
                 .andExpect(status().isOk());
 
         // 사용
-        mockMvc.perform(patch("/point/{id}/use", userId)
+        performAsync(patch("/point/{id}/use", userId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(useAmount)))
                 .andExpect(status().isOk());
@@ -107,4 +112,12 @@ public class PointIntegrationTest {
                 .andExpect(jsonPath("$[0].type").value("CHARGE"))
                 .andExpect(jsonPath("$[1].type").value("USE"));
     }
-}
\ No newline at end of file
+
+    // 충전/사용은 DeferredResult 로 응답하므로, 비동기 처리가 끝난 뒤의 응답을 검증한다.
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+}
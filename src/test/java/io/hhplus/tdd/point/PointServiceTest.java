@@ -1,17 +1,26 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.CachedUserPointRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import io.hhplus.tdd.point.admission.PointAdmissionController;
+import io.hhplus.tdd.point.concurrency.LockingPointUpdater;
+import io.hhplus.tdd.point.history.DirectPointHistoryWriter;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static io.hhplus.tdd.common.Constants.MAX_POINT;
 import static org.mockito.Mockito.*;
@@ -21,13 +30,23 @@ import static org.junit.jupiter.api.Assertions.*;
 class PointServiceTest {
 
     @Mock
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointStore;
 
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
 
-    @InjectMocks
     private PointService pointService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // 기본 구성(캐시 저장소 + 유저 락)을 mock 저장소 위에 그대로 조립한다.
+        meterRegistry = new SimpleMeterRegistry();
+        CachedUserPointRepository userPointRepository = new CachedUserPointRepository(userPointStore, meterRegistry, 100);
+        LockingPointUpdater pointUpdater = new LockingPointUpdater(userPointRepository, new DirectPointHistoryWriter(pointHistoryRepository), new UserLockManager(meterRegistry), 100);
+        pointService = new PointService(userPointRepository, pointHistoryRepository, pointUpdater, new PointMetrics(meterRegistry),
+                new PointAdmissionController(meterRegistry, true, 16, 50, 100, 200, 20, 2000));
+    }
 
     // TODO: 시간되면 @Nested 로 테스트 케이스 그룹화 해보기
     // TODO: BDDMockito 방식으로 바꿔보기: given().willReturn() ( <-> 현재는 기본 Mockito: when().thenReturn())
@@ -41,7 +60,7 @@ class PointServiceTest {
         long currentPoint = 1_000L;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);  // selectById(userId) 호출 -> mockPoint를 반환하도록 설정
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);  // selectById(userId) 호출 -> mockPoint를 반환하도록 설정
 
         // when
         UserPoint result = pointService.getPoint(userId);
@@ -60,7 +79,7 @@ class PointServiceTest {
         long emptyUserPoint = 0L;
 
         UserPoint emptyPoint = new UserPoint(userId, emptyUserPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(emptyPoint);
+        when(userPointStore.selectById(userId)).thenReturn(emptyPoint);
 
         // when
         UserPoint result = pointService.getPoint(userId);
@@ -82,10 +101,10 @@ class PointServiceTest {
         long expectedTotalPoint = currentPoint + chargeAmount;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);
 
         UserPoint chargedTotalPoint = new UserPoint(userId, expectedTotalPoint, System.currentTimeMillis());
-        when(userPointTable.insertOrUpdate(userId, expectedTotalPoint)).thenReturn(chargedTotalPoint);
+        when(userPointStore.insertOrUpdate(userId, expectedTotalPoint)).thenReturn(chargedTotalPoint);
 
         // when - 9_000포인트 충전
         UserPoint result = pointService.chargePoint(userId, chargeAmount);
@@ -106,10 +125,10 @@ class PointServiceTest {
         long expectedTotalPoint = currentPoint + chargeAmount;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);
 
         UserPoint chargedTotalPoint = new UserPoint(userId, expectedTotalPoint, System.currentTimeMillis());
-        when(userPointTable.insertOrUpdate(userId, expectedTotalPoint)).thenReturn(chargedTotalPoint);
+        when(userPointStore.insertOrUpdate(userId, expectedTotalPoint)).thenReturn(chargedTotalPoint);
 
         // when
         UserPoint result = pointService.chargePoint(userId, chargeAmount);
@@ -159,7 +178,7 @@ class PointServiceTest {
         long chargeAmount = 100_000L;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);
 
 
         // when & then
@@ -180,10 +199,10 @@ class PointServiceTest {
         long expectedNewPoint = currentPoint - useRequestAmount;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);
 
         UserPoint newPoint = new UserPoint(userId, expectedNewPoint, System.currentTimeMillis());
-        when(userPointTable.insertOrUpdate(userId, expectedNewPoint)).thenReturn(newPoint);
+        when(userPointStore.insertOrUpdate(userId, expectedNewPoint)).thenReturn(newPoint);
 
         // when
         UserPoint result = pointService.usePoint(userId, useRequestAmount);
@@ -204,7 +223,7 @@ class PointServiceTest {
         long useRequestAmount = 10_000L;
 
         UserPoint mockPoint = new UserPoint(userId, currentPoint, System.currentTimeMillis());
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
+        when(userPointStore.selectById(userId)).thenReturn(mockPoint);
 
         // when & then
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -213,6 +232,21 @@ class PointServiceTest {
         assertEquals(String.format("포인트가 부족합니다. 현재 포인트: %d, 사용 요청 금액: %d", currentPoint, useRequestAmount), exception.getMessage());
     }
 
+    @Test
+    @DisplayName("잔액 부족으로 거절된 사용 요청은 사유별 거절 지표와 소요 시간 지표에 집계된다")
+    void usePoint_insufficientBalance_recordsRejectionMetrics() {
+        // given
+        long userId = 1L;
+        when(userPointStore.selectById(userId)).thenReturn(new UserPoint(userId, 5_000L, System.currentTimeMillis()));
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(userId, 10_000L));
+
+        // then
+        assertEquals(1.0, meterRegistry.find("point.rejections").tag("reason", "insufficient_balance").counter().count());
+        assertEquals(1L, meterRegistry.find("point.mutation").tag("type", "use").tag("outcome", "rejected").timer().count());
+    }
+
     @Test
     @DisplayName("사용금액이 0원일 경우 예외 발생")
     void usePoint_zeroAmount_throwException() {
@@ -255,7 +289,7 @@ class PointServiceTest {
                 new PointHistory(3L, userId, 3_000L, TransactionType.USE, now - 3_000)
         );
 
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(mockPointHistoryList);
+        when(pointHistoryRepository.selectAllByUserId(userId)).thenReturn(mockPointHistoryList);
 
         // when
         List<PointHistory> result = pointService.getHistories(userId);
@@ -272,7 +306,7 @@ class PointServiceTest {
         // given
         long userId = 999L;
 
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(Collections.emptyList());
+        when(pointHistoryRepository.selectAllByUserId(userId)).thenReturn(Collections.emptyList());
 
         // when
         List<PointHistory> result = pointService.getHistories(userId);
@@ -287,7 +321,7 @@ class PointServiceTest {
     void getHistory_nullUser_returnEmptyList() {
         // given
         long userId = 1L;
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(null);
+        when(pointHistoryRepository.selectAllByUserId(userId)).thenReturn(null);
 
         // when
         List<PointHistory> result = pointService.getHistories(userId);
@@ -296,4 +330,49 @@ class PointServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("이용 요약은 이용 내역 저장소가 저장할 때 갱신해 둔 값을 그대로 돌려준다")
+    void getSummary_fromHistoryRepository() {
+        // given
+        long userId = 1L;
+        PointSummary summary = new PointSummary(userId, 10_000L, 1_000L, 1L, 1L, 200L);
+        when(pointHistoryRepository.selectSummary(userId)).thenReturn(summary);
+
+        // when
+        PointSummary result = pointService.getSummary(userId);
+
+        // then
+        assertEquals(summary, result);
+        verify(pointHistoryRepository, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("일괄 요청 항목도 유저별 토큰 버킷(100건)을 차지하고, 넘는 항목은 거절된다")
+    void applyBulkItemAsync_chargesUserTokens() {
+        // given
+        long userId = 1L;
+        when(userPointStore.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(userPointStore.insertOrUpdate(eq(userId), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(userId, invocation.getArgument(1), 0L));
+
+        // when
+        int succeeded = 0;
+        int rejected = 0;
+        for (int i = 0; i < 150; i++) {
+            CompletableFuture<UserPoint> result = pointService.applyBulkItemAsync(userId, 10L, TransactionType.CHARGE);
+            if (result.isCompletedExceptionally()) {
+                CompletionException exception = assertThrows(CompletionException.class, result::join);
+                assertEquals(AdmissionRejectedException.Reason.USER_RATE, ((AdmissionRejectedException) exception.getCause()).reason());
+                rejected++;
+            } else {
+                result.join();
+                succeeded++;
+            }
+        }
+
+        // then - 테스트 중에 채워지는 토큰(초당 50개)만큼은 더 받을 수 있다
+        assertTrue(succeeded >= 100 && rejected > 0, "succeeded: " + succeeded);
+        verify(pointHistoryRepository, times(succeeded)).insert(eq(userId), eq(10L), eq(TransactionType.CHARGE), anyLong());
+    }
+}
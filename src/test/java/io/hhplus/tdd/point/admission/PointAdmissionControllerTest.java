@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointAdmissionControllerTest {
+
+    private PointAdmissionController pointAdmissionController;
+
+    @AfterEach
+    void tearDown() {
+        if (pointAdmissionController != null) {
+            pointAdmissionController.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("한 유저의 처리 중 요청이 한도에 닿으면 다음 요청은 바로 거절된다")
+    void userInFlight_rejected() {
+        // given
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 2, 1_000, 1_000, 100, 10, 100);
+        pointAdmissionController.admit(1L);
+        pointAdmissionController.admit(1L);
+
+        // when
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> pointAdmissionController.admit(1L));
+
+        // then
+        assertEquals(AdmissionRejectedException.Reason.USER_IN_FLIGHT, exception.reason());
+        assertDoesNotThrow(() -> pointAdmissionController.admit(2L));
+    }
+
+    @Test
+    @DisplayName("입장권을 반납하면 같은 유저의 요청을 다시 받는다")
+    void release_restoresUserCapacity() {
+        // given
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 1, 1_000, 1_000, 100, 10, 100);
+        PointAdmissionController.Permit permit = pointAdmissionController.admit(1L);
+
+        // when
+        pointAdmissionController.release(permit, true);
+
+        // then
+        assertDoesNotThrow(() -> pointAdmissionController.admit(1L));
+    }
+
+    @Test
+    @DisplayName("일괄 요청 입장권은 전체 한도만 차지하고 유저별 한도는 쓰지 않는다")
+    void admitBulk_usesGlobalSlotOnly() {
+        // given - 유저별 처리 중 1건, 전체 2건
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 1, 1_000, 1_000, 2, 2, 2);
+
+        // when
+        PointAdmissionController.Permit bulk = pointAdmissionController.admitBulk();
+
+        // then
+        PointAdmissionController.Permit permit = assertDoesNotThrow(() -> pointAdmissionController.admit(1L));
+        assertThrows(AdmissionRejectedException.class, () -> pointAdmissionController.admitBulk());
+        pointAdmissionController.release(bulk, true);
+        assertDoesNotThrow(() -> pointAdmissionController.admitBulk());
+        pointAdmissionController.release(permit, true);
+    }
+
+    @Test
+    @DisplayName("일괄 요청 항목은 유저별 한도만 차지하고, 토큰을 다 쓰면 거절된다")
+    void admitBulkItem_usesUserLimitOnly() {
+        // given - 유저별 버킷 3건, 전체 1건
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 100, 0.001, 3, 1, 1, 1);
+        PointAdmissionController.Permit bulk = pointAdmissionController.admitBulk();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            pointAdmissionController.release(pointAdmissionController.admitBulkItem(1L), true);
+        }
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> pointAdmissionController.admitBulkItem(1L));
+
+        // then
+        assertEquals(AdmissionRejectedException.Reason.USER_RATE, exception.reason());
+        assertDoesNotThrow(() -> pointAdmissionController.admitBulkItem(2L));
+        pointAdmissionController.release(bulk, true);
+    }
+
+    @Test
+    @DisplayName("토큰 버킷을 다 쓴 유저의 요청은 처리 중 요청이 없어도 거절된다")
+    void userRate_rejected() {
+        // given
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 100, 0.001, 3, 100, 10, 100);
+        for (int i = 0; i < 3; i++) {
+            pointAdmissionController.release(pointAdmissionController.admit(1L), true);
+        }
+
+        // when
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> pointAdmissionController.admit(1L));
+
+        // then
+        assertEquals(AdmissionRejectedException.Reason.USER_RATE, exception.reason());
+    }
+
+    @Test
+    @DisplayName("전체 동시 처리 한도를 넘으면 어느 유저든 거절되고, 거절된 요청은 유저 한도를 차지하지 않는다")
+    void globalConcurrency_rejected() {
+        // given
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), true, 1, 1_000, 1_000, 3, 1, 10);
+        List<PointAdmissionController.Permit> permits = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            permits.add(pointAdmissionController.admit(userId));
+        }
+
+        // when
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> pointAdmissionController.admit(4L));
+
+        // then
+        assertEquals(AdmissionRejectedException.Reason.GLOBAL_CONCURRENCY, exception.reason());
+        pointAdmissionController.release(permits.get(0), true);
+        assertDoesNotThrow(() -> pointAdmissionController.admit(4L));
+    }
+
+    @Test
+    @DisplayName("입장 제어를 끄면 한도와 상관없이 모든 요청을 받는다")
+    void disabled_admitsEverything() {
+        // given
+        pointAdmissionController = new PointAdmissionController(new SimpleMeterRegistry(), false, 1, 1_000, 1_000, 1, 1, 1);
+
+        // when & then
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> pointAdmissionController.admit(1L));
+        }
+    }
+
+    @Test
+    @DisplayName("최근 응답 시간이 평소보다 길어지면 전체 동시 처리 한도를 줄인다")
+    void gradientLimit_shrinksWhenLatencyGrows() {
+        // given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(100, 10, 1_000);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1_000_000L, true);
+        }
+        int before = limit.limit();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(20_000_000L, true);
+        }
+
+        // then
+        assertTrue(limit.limit() < before);
+        assertTrue(limit.limit() >= 10);
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.CachedUserPointRepository;
+import io.hhplus.tdd.database.ConcurrentUserPointRepository;
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.DirectPointHistoryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorPointUpdaterTest {
+
+    private final UserPointRepository userPointStore = new ConcurrentUserPointRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), new SimpleMeterRegistry());
+    private final PointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), new SimpleMeterRegistry());
+    private final ActorPointUpdater pointUpdater = new ActorPointUpdater(new CachedUserPointRepository(userPointStore, new SimpleMeterRegistry(), 100), new DirectPointHistoryWriter(pointHistoryRepository), 4, 100);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointUpdater.shutdown();
+    }
+
+    @Test
+    @DisplayName("동일 유저의 요청은 메일박스에 들어온 순서대로 처리된다")
+    void sameUser_processedInArrivalOrder() {
+        long userId = 1L;
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+
+        for (long amount = 1; amount <= 5; amount++) {
+            futures.add(pointUpdater.updateAsync(userId, amount, TransactionType.CHARGE));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<Long> historyAmounts = pointHistoryRepository.selectAllByUserId(userId).stream()
+                .map(PointHistory::amount)
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), historyAmounts);
+        assertEquals(15L, futures.get(4).join().point());
+    }
+
+    @Test
+    @DisplayName("규칙을 위반한 요청만 예외로 완료되고, 뒤따르는 요청은 계속 처리된다")
+    void rejectedCommand_doesNotBlockMailbox() {
+        long userId = 2L;
+
+        CompletableFuture<UserPoint> use = pointUpdater.updateAsync(userId, 1_000L, TransactionType.USE);
+        CompletableFuture<UserPoint> charge = pointUpdater.updateAsync(userId, 1_000L, TransactionType.CHARGE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, use::get);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(1_000L, charge.join().point());
+    }
+
+    @Test
+    @DisplayName("요청을 모두 처리한 유저의 메일박스는 맵에서 지워진다")
+    void idleMailbox_removed() throws InterruptedException {
+        // given
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (long userId = 10; userId < 60; userId++) {
+            futures.add(pointUpdater.updateAsync(userId, 1_000L, TransactionType.CHARGE));
+        }
+
+        // when
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then - 메일박스는 결과를 돌려준 뒤에 지워지므로 잠시 기다린다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (pointUpdater.mailboxCount() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, pointUpdater.mailboxCount());
+        assertEquals(2_000L, pointUpdater.updateAsync(10L, 1_000L, TransactionType.CHARGE).join().point());
+    }
+
+    @Test
+    @DisplayName("반영 중 Error 가 나도 그 배치만 실패하고, 같은 유저의 다음 요청은 처리된다")
+    void error_doesNotStallMailbox() throws Exception {
+        // given - 첫 조회에서만 Error 를 던지는 저장소
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        UserPointRepository failingOnce = new UserPointRepository() {
+            @Override
+            public UserPoint selectById(long id) {
+                if (failNext.getAndSet(false)) {
+                    throw new StackOverflowError();
+                }
+                return userPointStore.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                return userPointStore.insertOrUpdate(id, amount);
+            }
+        };
+        ActorPointUpdater updater = new ActorPointUpdater(failingOnce, new DirectPointHistoryWriter(pointHistoryRepository), 1, 100);
+
+        // when
+        CompletableFuture<UserPoint> failed = updater.updateAsync(3L, 1_000L, TransactionType.CHARGE);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(1, TimeUnit.SECONDS));
+        UserPoint next = updater.updateAsync(3L, 1_000L, TransactionType.CHARGE).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertInstanceOf(StackOverflowError.class, exception.getCause());
+        assertEquals(1_000L, next.point());
+        updater.shutdown();
+    }
+}
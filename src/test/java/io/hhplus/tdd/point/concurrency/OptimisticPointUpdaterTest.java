@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.CachedUserPointRepository;
+import io.hhplus.tdd.database.ConcurrentUserPointRepository;
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.history.DirectPointHistoryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticPointUpdaterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserPointRepository userPointStore = new ConcurrentUserPointRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), meterRegistry);
+    private final PointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), meterRegistry);
+    private final OptimisticPointUpdater pointUpdater = new OptimisticPointUpdater(new CachedUserPointRepository(userPointStore, meterRegistry, 100),
+            new DirectPointHistoryWriter(pointHistoryRepository), meterRegistry, 100_000);
+
+    @Test
+    @DisplayName("동일 유저에게 동시에 충전해도 모든 충전이 반영된다")
+    void concurrentCharge_allApplied() throws Exception {
+        int threadCount = 20;
+        long userId = 1L;
+        long chargeAmount = 1_000L;
+
+        runConcurrently(threadCount, () -> pointUpdater.update(userId, chargeAmount, TransactionType.CHARGE));
+
+        assertEquals(chargeAmount * threadCount, userPointStore.selectById(userId).point());
+        assertEquals(threadCount, pointHistoryRepository.selectAllByUserId(userId).size());
+        assertEquals(threadCount, pointUpdater.contentionStats().commits());
+    }
+
+    @Test
+    @DisplayName("동시에 사용해도 잔액이 0 미만이 되지 않고, 초과 요청은 실패로 집계된다")
+    void concurrentUse_neverBelowZero() throws Exception {
+        int threadCount = 5;
+        long userId = 2L;
+        userPointStore.insertOrUpdate(userId, 1_000L);
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threadCount, () -> {
+            try {
+                pointUpdater.update(userId, 500L, TransactionType.USE);
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(0L, userPointStore.selectById(userId).point());
+        assertEquals(3, rejected.get());
+        assertEquals(3, pointUpdater.contentionStats().failures());
+        assertEquals(3.0, meterRegistry.get("point.optimistic.failures").functionCounter().count());
+        assertEquals(pointUpdater.contentionStats().retries(), (long) meterRegistry.get("point.optimistic.retries").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("내역 저장에 실패하면 셀에서 증감을 되돌려 다음 요청이 실패한 값 위에 쌓이지 않는다")
+    void historyWriteFails_cellReverted() {
+        long userId = 3L;
+        userPointStore.insertOrUpdate(userId, 1_000L);
+        AtomicInteger writes = new AtomicInteger();
+        OptimisticPointUpdater failingUpdater = new OptimisticPointUpdater(userPointStore, (id, amount, type, updateMillis) -> {
+            if (writes.incrementAndGet() == 1) {
+                throw new IllegalStateException("history store down");
+            }
+        }, meterRegistry, 100_000);
+
+        assertThrows(IllegalStateException.class, () -> failingUpdater.update(userId, 500L, TransactionType.CHARGE));
+        failingUpdater.update(userId, 100L, TransactionType.CHARGE);
+
+        assertEquals(1_100L, userPointStore.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("잔액 셀은 max-cached-users 명까지만 보관하고, 버린 유저는 저장소에서 다시 읽는다")
+    void cachedUsers_bounded() {
+        OptimisticPointUpdater boundedUpdater = new OptimisticPointUpdater(userPointStore,
+                new DirectPointHistoryWriter(pointHistoryRepository), meterRegistry, 2);
+
+        for (long userId = 10L; userId < 15L; userId++) {
+            boundedUpdater.update(userId, 100L, TransactionType.CHARGE);
+        }
+        boundedUpdater.update(10L, 100L, TransactionType.CHARGE);
+
+        assertEquals(2, boundedUpdater.cachedUsers());
+        assertEquals(200L, userPointStore.selectById(10L).point());
+    }
+
+    private void runConcurrently(int threadCount, Runnable task) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+    }
+}
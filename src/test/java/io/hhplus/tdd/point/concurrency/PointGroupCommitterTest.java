@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointGroupCommitterTest {
+
+    @Mock
+    private UserPointRepository userPointRepository;
+
+    @Mock
+    private PointHistoryWriter pointHistoryWriter;
+
+    @InjectMocks
+    private PointGroupCommitter groupCommitter;
+
+    @Test
+    @DisplayName("여러 요청을 도착 순서대로 검증하고 최종 포인트는 한 번만 갱신한다")
+    void commit_singleUpdateForBatch() {
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 1_000L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 1_500L)).thenReturn(new UserPoint(userId, 1_500L, 10L));
+
+        PointCommand charge = new PointCommand(1_000L, TransactionType.CHARGE);
+        PointCommand use = new PointCommand(500L, TransactionType.USE);
+
+        // when
+        groupCommitter.commit(userId, List.of(charge, use));
+
+        // then
+        assertEquals(2_000L, charge.await().point());
+        assertEquals(1_500L, use.await().point());
+        verify(pointHistoryWriter).write(eq(userId), eq(1_000L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryWriter).write(eq(userId), eq(500L), eq(TransactionType.USE), anyLong());
+        verify(userPointRepository, times(1)).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("규칙을 위반한 요청만 실패하고 나머지 요청은 반영된다")
+    void commit_rejectsOnlyInvalidCommand() {
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(userPointRepository.insertOrUpdate(userId, 500L)).thenReturn(new UserPoint(userId, 500L, 10L));
+
+        PointCommand overUse = new PointCommand(1_000L, TransactionType.USE);
+        PointCommand charge = new PointCommand(500L, TransactionType.CHARGE);
+
+        // when
+        groupCommitter.commit(userId, List.of(overUse, charge));
+
+        // then
+        assertThrows(IllegalArgumentException.class, overUse::await);
+        assertEquals(500L, charge.await().point());
+        verify(pointHistoryWriter, times(1)).write(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("포인트 조회가 실패하면 묶인 요청을 모두 실패시킨다")
+    void commit_failsAllCommandsWhenSelectThrows() {
+        // given
+        long userId = 1L;
+        when(userPointRepository.selectById(userId)).thenThrow(new IllegalStateException("조회 실패"));
+
+        PointCommand charge = new PointCommand(1_000L, TransactionType.CHARGE);
+        PointCommand use = new PointCommand(500L, TransactionType.USE);
+
+        // when
+        groupCommitter.commit(userId, List.of(charge, use));
+
+        // then
+        assertThrows(IllegalStateException.class, charge::await);
+        assertThrows(IllegalStateException.class, use::await);
+        verifyNoInteractions(pointHistoryWriter);
+    }
+
+    @Test
+    @DisplayName("묶인 요청이 없으면 포인트를 조회하지 않는다")
+    void commit_emptyBatch_noop() {
+        // when
+        groupCommitter.commit(1L, List.of());
+
+        // then
+        verifyNoInteractions(userPointRepository, pointHistoryWriter);
+    }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.concurrency;
+
+import io.hhplus.tdd.database.CachedUserPointRepository;
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.history.DirectPointHistoryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedPointUpdaterTest {
+
+    private final UserPointRepository userPointRepository = new CachedUserPointRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), new SimpleMeterRegistry(), 100);
+    private final PointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(LatencyProfile.uniform(System.nanoTime(), 1.0), new SimpleMeterRegistry());
+    private final ShardedPointUpdater pointUpdater = new ShardedPointUpdater(userPointRepository, new DirectPointHistoryWriter(pointHistoryRepository), new SimpleMeterRegistry(), 4, 100);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointUpdater.shutdown();
+    }
+
+    @Test
+    @DisplayName("동일 유저의 요청은 담당 샤드에서 도착 순서대로 처리되고, 결과는 저장소에도 반영된다")
+    void sameUser_processedInArrivalOrder() {
+        // given
+        long userId = 1L;
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+
+        // when
+        for (long amount = 1; amount <= 5; amount++) {
+            futures.add(pointUpdater.updateAsync(userId, amount, TransactionType.CHARGE));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        List<Long> historyAmounts = pointHistoryRepository.selectAllByUserId(userId).stream()
+                .map(PointHistory::amount)
+                .toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), historyAmounts);
+        assertEquals(15L, futures.get(4).join().point());
+        assertEquals(15L, userPointRepository.selectById(userId).point());
+    }
+
+    @Test
+    @DisplayName("규칙을 위반한 요청만 예외로 완료되고, 샤드가 보관한 잔액은 바뀌지 않는다")
+    void rejectedCommand_keepsShardBalance() {
+        // given
+        long userId = 2L;
+        pointUpdater.update(userId, 1_000L, TransactionType.CHARGE);
+
+        // when
+        CompletableFuture<UserPoint> use = pointUpdater.updateAsync(userId, 5_000L, TransactionType.USE);
+        CompletableFuture<UserPoint> charge = pointUpdater.updateAsync(userId, 1_000L, TransactionType.CHARGE);
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, use::get);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(2_000L, charge.join().point());
+    }
+
+    @Test
+    @DisplayName("샤드별로 처리 건수와 사용률을 확인할 수 있다")
+    void shardStats() throws InterruptedException {
+        // given - 샤드 스레드가 마지막 작업을 마칠 때까지 기다린 뒤 확인한다
+        for (long userId = 1; userId <= 20; userId++) {
+            pointUpdater.update(userId, 100L, TransactionType.CHARGE);
+        }
+        pointUpdater.shutdown();
+
+        // when
+        List<ShardedPointUpdater.ShardStats> stats = pointUpdater.shardStats();
+
+        // then
+        assertEquals(4, stats.size());
+        assertEquals(20L, stats.stream().mapToLong(ShardedPointUpdater.ShardStats::completedTasks).sum());
+        assertTrue(stats.stream().allMatch(shard -> shard.queueDepth() == 0 && shard.utilization() >= 0.0));
+    }
+
+    @Test
+    @DisplayName("샤드가 들고 있을 유저 수를 넘겨 버린 유저의 잔액은 저장소에서 다시 읽어 이어서 반영한다")
+    void evictedUser_reloadedFromRepository() throws InterruptedException {
+        // given - 샤드 1개, 잔액은 2명까지만 보관
+        ShardedPointUpdater boundedUpdater = new ShardedPointUpdater(userPointRepository, new DirectPointHistoryWriter(pointHistoryRepository), new SimpleMeterRegistry(), 1, 2);
+        for (long userId = 1; userId <= 3; userId++) {
+            boundedUpdater.update(userId, 1_000L, TransactionType.CHARGE);
+        }
+
+        // when - 1번 유저는 가장 오래 쓰지 않아 버려졌다
+        UserPoint result = boundedUpdater.update(1L, 500L, TransactionType.CHARGE);
+
+        // then
+        assertEquals(1_500L, result.point());
+        assertEquals(1_500L, userPointRepository.selectById(1L).point());
+        boundedUpdater.shutdown();
+    }
+
+    @Test
+    @DisplayName("처리 도중 Error 가 나도 결과를 예외로 완료하고, 샤드는 다음 요청을 이어서 처리한다")
+    void error_completesResult() throws InterruptedException {
+        // given - 첫 내역 기록에서 Error 를 던지는 샤드 1개
+        AtomicInteger writes = new AtomicInteger();
+        ShardedPointUpdater failingUpdater = new ShardedPointUpdater(userPointRepository, (userId, amount, type, updateMillis) -> {
+            if (writes.incrementAndGet() == 1) {
+                throw new AssertionError("history writer broken");
+            }
+        }, new SimpleMeterRegistry(), 1, 100);
+
+        // when
+        CompletableFuture<UserPoint> failed = failingUpdater.updateAsync(1L, 1_000L, TransactionType.CHARGE);
+        UserPoint next = failingUpdater.update(1L, 500L, TransactionType.CHARGE);
+
+        // then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertEquals(500L, next.point());
+        failingUpdater.shutdown();
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.IndexedPointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.latency.LatencyProfile;
+import io.hhplus.tdd.point.PendingPointHistory;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxPointHistoryWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("기록한 내역은 백그라운드에서 저장되고, 종료 시 버퍼에 남은 내역까지 모두 저장한다")
+    void shutdown_drainsBuffer() throws InterruptedException {
+        // given
+        IndexedPointHistoryRepository pointHistoryRepository = repository(LatencyProfile.zero());
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(pointHistoryRepository, 1_000, 10, 10L, 100L, 30_000L);
+
+        // when
+        for (long amount = 1; amount <= 100; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.shutdown();
+
+        // then - 요약도 저장된 내역과 같은 값이 된다
+        assertEquals(100, pointHistoryRepository.selectAllByUserId(1L).size());
+        assertEquals(0, pointHistoryWriter.pendingCount());
+        assertEquals(new PointSummary(1L, 5_050L, 0L, 100L, 0L, 100L), pointHistoryRepository.selectSummary(1L));
+    }
+
+    @Test
+    @DisplayName("버퍼에 쌓인 내역은 배치 단위로 한 번에 저장되어 저장 지연도 배치마다 한 번만 발생한다")
+    void flush_insertsBatchAtOnce() throws InterruptedException {
+        // given - 저장 한 번에 30ms
+        IndexedPointHistoryRepository pointHistoryRepository = repository(LatencyProfile.fixed(0.1));
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(pointHistoryRepository, 1_000, 100, 10L, 100L, 30_000L);
+
+        // when
+        for (long amount = 1; amount <= 300; amount++) {
+            pointHistoryWriter.write(amount % 3, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.shutdown();
+
+        // then - 한 건씩 저장했다면 300번 호출된다
+        long insertCalls = meterRegistry.timer("point.table.duration", "table", "point_history", "operation", "insert").count();
+        assertTrue(insertCalls <= 10, "insert 호출 수: " + insertCalls);
+        for (long userId = 0; userId < 3; userId++) {
+            assertEquals(100, pointHistoryRepository.selectAllByUserId(userId).size());
+        }
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 기록된 내역도 저장되거나 거절될 뿐 유실되지 않는다")
+    void shutdown_concurrentWrites_notLost() throws Exception {
+        // given
+        IndexedPointHistoryRepository pointHistoryRepository = repository(LatencyProfile.zero());
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(pointHistoryRepository, 16, 8, 10L, 100L, 30_000L);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<Integer> accepted = executorService.submit(() -> {
+            int count = 0;
+            try {
+                while (true) {
+                    pointHistoryWriter.write(1L, 1L, TransactionType.CHARGE, 0L);
+                    count++;
+                }
+            } catch (IllegalStateException e) {
+                return count;
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        pointHistoryWriter.shutdown();
+
+        // then
+        assertEquals(accepted.get(5, TimeUnit.SECONDS), pointHistoryRepository.selectAllByUserId(1L).size());
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("종료된 아웃박스에는 내역을 기록할 수 없다")
+    void write_afterShutdown_throwException() throws InterruptedException {
+        // given
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(repository(LatencyProfile.zero()), 10, 10, 10L, 100L, 30_000L);
+        pointHistoryWriter.shutdown();
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> pointHistoryWriter.write(1L, 1_000L, TransactionType.CHARGE, 0L));
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 배치는 버리지 않고, 저장소가 회복되면 다시 저장한다")
+    void flush_failure_retriedUntilSaved() throws InterruptedException {
+        // given - 처음 세 번은 저장에 실패하는 저장소
+        IndexedPointHistoryRepository pointHistoryRepository = repository(LatencyProfile.zero());
+        AtomicInteger failures = new AtomicInteger(3);
+        PointHistoryRepository flakyRepository = new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                return pointHistoryRepository.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> insertAll(List<PendingPointHistory> histories) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("저장소 장애");
+                }
+                return pointHistoryRepository.insertAll(histories);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return pointHistoryRepository.selectAllByUserId(userId);
+            }
+        };
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(flakyRepository, 1_000, 10, 10L, 100L, 30_000L);
+
+        // when
+        for (long amount = 1; amount <= 50; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.shutdown();
+
+        // then
+        assertEquals(50, pointHistoryRepository.selectAllByUserId(1L).size());
+        assertEquals(new PointSummary(1L, 1_275L, 0L, 50L, 0L, 50L), pointHistoryRepository.selectSummary(1L));
+        assertEquals(0, pointHistoryWriter.pendingCount());
+    }
+
+    @Test
+    @DisplayName("종료 시간 안에 저장하지 못한 내역은 버리지 않고 남은 건수로 보고한다")
+    void shutdown_timeout_reportsUnsaved() throws InterruptedException {
+        // given - 항상 저장에 실패하는 저장소
+        PointHistoryRepository failingRepository = new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                throw new IllegalStateException("저장소 장애");
+            }
+
+            @Override
+            public List<PointHistory> insertAll(List<PendingPointHistory> histories) {
+                throw new IllegalStateException("저장소 장애");
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return List.of();
+            }
+        };
+        OutboxPointHistoryWriter pointHistoryWriter = new OutboxPointHistoryWriter(failingRepository, 1_000, 10, 10L, 50L, 200L);
+
+        // when
+        for (long amount = 1; amount <= 25; amount++) {
+            pointHistoryWriter.write(1L, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.shutdown();
+
+        // then
+        assertEquals(25, pointHistoryWriter.pendingCount());
+    }
+
+    private IndexedPointHistoryRepository repository(LatencyProfile latencyProfile) {
+        return new IndexedPointHistoryRepository(latencyProfile, meterRegistry);
+    }
+}
@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.AdmissionRejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final IdempotentRequest CHARGE = new IdempotentRequest(1L, TransactionType.CHARGE, 1_000L);
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(2, Duration.ofSeconds(10), nanoClock::get);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    @DisplayName("같은 키로 같은 요청을 다시 보내면 실행하지 않고 처음 결과를 돌려준다")
+    void execute_replay() {
+        // when
+        UserPoint first = idempotencyCache.execute("key", CHARGE, charge(1_000L)).join();
+        UserPoint second = idempotencyCache.execute("key", CHARGE, charge(2_000L)).join();
+
+        // then
+        assertEquals(1, executions.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("같은 키로 내용이 다른 요청을 보내면 실행하지 않고 실패한다")
+    void execute_mismatch_fail() {
+        // given
+        idempotencyCache.execute("key", CHARGE, charge(1_000L)).join();
+
+        // when
+        CompletableFuture<UserPoint> result = idempotencyCache.execute("key", new IdempotentRequest(1L, TransactionType.USE, 1_000L), charge(0L));
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("다른 유저가 같은 키를 쓰면 서로 다른 요청으로 각각 실행한다")
+    void execute_sameKeyOtherUser_executesSeparately() {
+        // given
+        idempotencyCache.execute("key", CHARGE, charge(1_000L)).join();
+
+        // when
+        UserPoint other = idempotencyCache.execute("key", new IdempotentRequest(2L, TransactionType.USE, 500L), charge(2_000L)).join();
+
+        // then
+        assertEquals(2, executions.get());
+        assertEquals(2_000L, other.point());
+        assertEquals(2, idempotencyCache.size());
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지나면 같은 키의 요청을 새 요청으로 실행한다")
+    void execute_afterTtl_reexecutes() {
+        // given
+        idempotencyCache.execute("key", CHARGE, charge(1_000L)).join();
+        nanoClock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // when
+        UserPoint result = idempotencyCache.execute("key", CHARGE, charge(2_000L)).join();
+
+        // then
+        assertEquals(2, executions.get());
+        assertEquals(2_000L, result.point());
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 결과를 남기지 않아 같은 키로 다시 시도할 수 있다")
+    void execute_failure_notCached() {
+        // given
+        CompletableFuture<UserPoint> failed = idempotencyCache.execute("key", CHARGE,
+                () -> CompletableFuture.failedFuture(new IllegalArgumentException("잔고가 부족합니다.")));
+        assertThrows(CompletionException.class, failed::join);
+
+        // when
+        UserPoint result = idempotencyCache.execute("key", CHARGE, charge(1_000L)).join();
+
+        // then
+        assertEquals(1_000L, result.point());
+        assertEquals(1, idempotencyCache.size());
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘으면 가장 오래된 키부터 지운다")
+    void execute_overMaximumSize_evictsEldest() {
+        // when
+        idempotencyCache.execute("a", CHARGE, charge(1_000L)).join();
+        idempotencyCache.execute("b", CHARGE, charge(1_000L)).join();
+        idempotencyCache.execute("c", CHARGE, charge(1_000L)).join();
+        idempotencyCache.execute("a", CHARGE, charge(1_000L)).join();
+
+        // then
+        assertEquals(4, executions.get());
+        assertEquals(2, idempotencyCache.size());
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘어도 처리 중인 키는 지우지 않고, 모든 키가 처리 중이면 새 키를 거절한다")
+    void execute_overMaximumSize_keepsInFlight() {
+        // given
+        CompletableFuture<UserPoint> pendingA = new CompletableFuture<>();
+        CompletableFuture<UserPoint> pendingB = new CompletableFuture<>();
+        idempotencyCache.execute("a", CHARGE, pending(pendingA));
+        idempotencyCache.execute("b", CHARGE, pending(pendingB));
+
+        // when
+        CompletableFuture<UserPoint> rejected = idempotencyCache.execute("c", CHARGE, charge(1_000L));
+        CompletableFuture<UserPoint> retried = idempotencyCache.execute("a", CHARGE, charge(1_000L));
+        pendingA.complete(new UserPoint(1L, 1_000L, 0L));
+        idempotencyCache.execute("c", CHARGE, charge(1_000L)).join();
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertEquals(AdmissionRejectedException.Reason.IDEMPOTENCY_IN_FLIGHT, ((AdmissionRejectedException) exception.getCause()).reason());
+        assertEquals(1_000L, retried.join().point());
+        assertEquals(3, executions.get());
+        assertEquals(2, idempotencyCache.size());
+    }
+
+    private Supplier<CompletableFuture<UserPoint>> pending(CompletableFuture<UserPoint> result) {
+        return () -> {
+            executions.incrementAndGet();
+            return result;
+        };
+    }
+
+    private Supplier<CompletableFuture<UserPoint>> charge(long point) {
+        return () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, point, 0L));
+        };
+    }
+}
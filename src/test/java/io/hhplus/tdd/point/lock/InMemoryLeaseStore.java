@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point.lock;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 프로세스 내 LeaseStore
+ * - Redis 의 fencing token INCR + SET PX / token 비교 Lua 스크립트와 같은 규칙으로 동작하고, 저장소 호출(왕복) 횟수를 센다.
+ */
+class InMemoryLeaseStore implements LeaseStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> fences = new ConcurrentHashMap<>();
+    final AtomicInteger roundTrips = new AtomicInteger();
+
+    @Override
+    public long tryAcquire(String key, Duration lease) {
+        roundTrips.incrementAndGet();
+        long now = System.nanoTime();
+        long[] acquired = new long[1];
+        entries.compute(key, (k, current) -> {
+            if (current != null && current.expiresAt - now > 0) {
+                return current;
+            }
+            acquired[0] = fences.merge(key, 1L, Long::sum);
+            return new Entry(acquired[0], now + lease.toNanos());
+        });
+        return acquired[0];
+    }
+
+    @Override
+    public boolean renew(String key, long token, Duration lease) {
+        roundTrips.incrementAndGet();
+        long now = System.nanoTime();
+        Entry renewed = new Entry(token, now + lease.toNanos());
+        return entries.computeIfPresent(key, (k, current) -> isHeldWith(current, token, now) ? renewed : current) == renewed;
+    }
+
+    @Override
+    public void release(String key, long token) {
+        roundTrips.incrementAndGet();
+        long now = System.nanoTime();
+        entries.computeIfPresent(key, (k, current) -> isHeldWith(current, token, now) ? null : current);
+    }
+
+    boolean isHeld(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.expiresAt - System.nanoTime() > 0;
+    }
+
+    // lease 를 곧바로 만료시킨다. (노드가 멈춘 사이 lease 시간이 지난 상황)
+    void expire(String key) {
+        entries.computeIfPresent(key, (k, current) -> new Entry(current.token, System.nanoTime()));
+    }
+
+    private boolean isHeldWith(Entry entry, long token, long now) {
+        return entry.token == token && entry.expiresAt - now > 0;
+    }
+
+    private record Entry(long token, long expiresAt) {
+    }
+}
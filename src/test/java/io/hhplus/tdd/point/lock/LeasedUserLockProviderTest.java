@@ -0,0 +1,196 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasedUserLockProviderTest {
+
+    private final InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+    private final RecordingUserPointRepository userPointRepository = new RecordingUserPointRepository();
+
+    // 같은 lease 저장소를 공유하는 두 노드
+    private final LeasedUserLockProvider nodeA = node();
+    private final LeasedUserLockProvider nodeB = node();
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("lease 를 들고 있는 노드의 연속된 요청은 저장소 왕복 없이 실행된다")
+    void sameNode_reusesLease() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            nodeA.executeWithLock(1L, () -> null);
+        }
+
+        // then
+        assertEquals(1, leaseStore.roundTrips.get());
+        assertTrue(leaseStore.isHeld("point:lock:user:{1}"));
+    }
+
+    @Test
+    @DisplayName("두 노드가 같은 유저의 작업을 동시에 실행해도 한 번에 하나씩만 실행된다")
+    void twoNodes_executeSequentially() throws Exception {
+        // given
+        int threadsPerNode = 4;
+        int iterations = 50;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int[] counter = new int[1];
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsPerNode * 2);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadsPerNode * 2; i++) {
+            LeasedUserLockProvider node = (i % 2 == 0) ? nodeA : nodeB;
+            futures.add(executorService.submit(() -> {
+                for (int n = 0; n < iterations; n++) {
+                    node.executeWithLock(1L, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        counter[0]++;
+                        return running.decrementAndGet();
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // then
+        assertEquals(1, maxRunning.get());
+        assertEquals(threadsPerNode * 2 * iterations, counter[0]);
+    }
+
+    @Test
+    @DisplayName("쓰이지 않은 lease 는 반납되어 다른 노드가 잡을 수 있다")
+    void idleLease_releasedForOtherNode() throws Exception {
+        // given
+        nodeA.executeWithLock(1L, () -> null);
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        // when
+        nodeA.releaseIdleLeases();
+        // 백그라운드 반납과 겹쳤을 수 있으므로 저장소에서 lease 가 지워질 때까지 기다린다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (leaseStore.isHeld("point:lock:user:{1}") && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        int roundTripsBefore = leaseStore.roundTrips.get();
+        nodeB.executeWithLock(1L, () -> null);
+
+        // then - 기다리지 않고 한 번에 획득한다
+        assertEquals(roundTripsBefore + 1, leaseStore.roundTrips.get());
+        assertTrue(leaseStore.isHeld("point:lock:user:{1}"));
+    }
+
+    @Test
+    @DisplayName("작업이 lease 시간보다 오래 걸려도 작업 중에 연장되어 다른 노드가 끼어들지 못한다")
+    void longTask_renewedWhileRunning() throws Exception {
+        // given - lease 100ms, 남은 시간이 60ms 보다 짧으면 연장
+        LeasedUserLockProvider shortLeaseA = new LeasedUserLockProvider(leaseStore, userPointRepository, new SimpleMeterRegistry(), 100L, 60L, 20L, 5_000L);
+        LeasedUserLockProvider shortLeaseB = new LeasedUserLockProvider(leaseStore, userPointRepository, new SimpleMeterRegistry(), 100L, 60L, 20L, 5_000L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            // when - A 가 lease 시간의 4배 동안 작업하는 사이 B 가 같은 유저의 락을 요청한다
+            Future<?> longTask = executorService.submit(() -> shortLeaseA.executeWithLock(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(400);
+                return running.decrementAndGet();
+            }));
+            TimeUnit.MILLISECONDS.sleep(50);
+            shortLeaseB.executeWithLock(1L, () -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max) + running.decrementAndGet());
+            longTask.get(5, TimeUnit.SECONDS);
+
+            // then
+            assertEquals(1, maxRunning.get());
+        } finally {
+            executorService.shutdown();
+            shortLeaseA.close();
+            shortLeaseB.close();
+        }
+    }
+
+    @Test
+    @DisplayName("lease 를 잃은 노드는 다른 노드가 새로 잡은 lease 를 반납하지 못한다")
+    void staleNode_cannotReleaseNewLease() {
+        // given - A 의 lease 가 만료된 뒤 B 가 새로 잡는다
+        nodeA.executeWithLock(1L, () -> null);
+        leaseStore.expire("point:lock:user:{1}");
+        nodeB.executeWithLock(1L, () -> null);
+
+        // when - A 가 옛 token 으로 반납한다
+        nodeA.close();
+
+        // then
+        assertTrue(leaseStore.isHeld("point:lock:user:{1}"));
+    }
+
+    @Test
+    @DisplayName("lease 를 새로 잡을 때만 캐시된 포인트를 비우고, 들고 있던 lease 를 재사용할 때는 비우지 않는다")
+    void newLease_evictsCachedPoint() {
+        // when
+        nodeA.executeWithLock(1L, () -> null);
+        nodeA.executeWithLock(1L, () -> null);
+        leaseStore.expire("point:lock:user:{1}");
+        nodeB.executeWithLock(1L, () -> null);
+
+        // then - A 의 첫 획득과 B 의 획득
+        assertEquals(List.of(1L, 1L), userPointRepository.evicted);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private LeasedUserLockProvider node() {
+        return new LeasedUserLockProvider(leaseStore, userPointRepository, new SimpleMeterRegistry(), 10_000L, 3_000L, 20L, 5_000L);
+    }
+
+    private static class RecordingUserPointRepository implements UserPointRepository {
+
+        private final List<Long> evicted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return UserPoint.empty(id);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            return new UserPoint(id, amount, System.currentTimeMillis());
+        }
+
+        @Override
+        public void evict(long id) {
+            evicted.add(id);
+        }
+    }
+}
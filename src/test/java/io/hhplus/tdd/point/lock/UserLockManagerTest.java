@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLockManagerTest {
+
+    private final UserLockManager userLockManager = new UserLockManager(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("동일 유저의 작업은 한 번에 하나씩만 실행된다")
+    void sameUser_executesSequentially() throws Exception {
+        int threadCount = 10;
+        long userId = 1L;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    userLockManager.executeWithLock(userId, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(10);
+                        return running.decrementAndGet();
+                    });
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("서로 다른 유저의 작업은 서로를 기다리지 않는다")
+    void differentUsers_executeInParallel() throws Exception {
+        CountDownLatch firstUserLocked = new CountDownLatch(1);
+        CountDownLatch secondUserDone = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() -> userLockManager.executeWithLock(1L, () -> {
+            firstUserLocked.countDown();
+            try {
+                return secondUserDone.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+
+        firstUserLocked.await();
+
+        // 1번 유저가 락을 보유한 상태에서도 2번 유저의 작업은 바로 실행된다
+        userLockManager.executeWithLock(2L, () -> {
+            secondUserDone.countDown();
+            return null;
+        });
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("작업이 끝나면 유저 락 엔트리가 정리된다")
+    void lockEntry_removedAfterRelease() {
+        userLockManager.executeWithLock(1L, () -> null);
+
+        assertThrows(IllegalStateException.class, () -> userLockManager.executeWithLock(2L, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(0, userLockManager.activeLockCount());
+    }
+
+    private void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}